@@ -0,0 +1,134 @@
+package com.buffer.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Model output shaped like the UI's mock response, with the mock's ideas repeated to reach a
+ * given number per channel, and the Responses API payload that carries it
+ */
+final class AnalysisPayloads {
+
+    // Benchmarks run from Extension-BE, next to the UI project
+    private static final Path MOCK_RESPONSE = Path.of("..", "Extension-UI", "mock-response.json");
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private AnalysisPayloads() {
+    }
+
+    /**
+     * The analysis JSON the model returns as its output text, for the mock's channels
+     */
+    static String analysisJson(int ideasPerChannel) {
+        ObjectNode mock = readMockResponse();
+        List<String> channelKeys = new ArrayList<>();
+        mock.get("channels").fieldNames().forEachRemaining(channelKeys::add);
+        return analysisJson(mock, channelKeys, ideasPerChannel);
+    }
+
+    /**
+     * The analysis JSON for the given channels, each getting the ideas of the mock channel with
+     * the same name, or of its first channel
+     */
+    static String analysisJson(List<String> channelKeys, int ideasPerChannel) {
+        return analysisJson(readMockResponse(), channelKeys, ideasPerChannel);
+    }
+
+    /**
+     * A completed Responses API payload with the analysis as its single output text
+     */
+    static byte[] responsesPayload(String outputText) {
+        return responsesPayload(outputText, true);
+    }
+
+    /**
+     * A Responses API payload with the given output text; an incomplete one ended at the output token limit
+     */
+    static byte[] responsesPayload(String outputText, boolean complete) {
+        ObjectNode payload = MAPPER.createObjectNode();
+        payload.put("id", "resp_benchmark");
+        payload.put("object", "response");
+        payload.put("status", complete ? "completed" : "incomplete");
+        if (!complete) {
+            payload.putObject("incomplete_details").put("reason", "max_output_tokens");
+        }
+        payload.put("model", "gpt-4o-mini");
+        ObjectNode message = payload.putArray("output").addObject();
+        message.put("type", "message");
+        message.put("role", "assistant");
+        ObjectNode text = message.putArray("content").addObject();
+        text.put("type", "output_text");
+        text.put("text", outputText);
+        text.putArray("annotations");
+        ObjectNode usage = payload.putObject("usage");
+        usage.put("input_tokens", 2400);
+        usage.put("output_tokens", outputText.length() / 4);
+        try {
+            return MAPPER.writeValueAsBytes(payload);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String analysisJson(ObjectNode mock, List<String> channelKeys, int ideasPerChannel) {
+        ObjectNode analysis = MAPPER.createObjectNode();
+        analysis.set("status", mock.get("status"));
+        analysis.set("summary", mock.get("summary"));
+
+        ObjectNode channels = analysis.putObject("channels");
+        for (String channelKey : channelKeys) {
+            ArrayNode mockIdeas = mockIdeas(mock, channelKey);
+            ArrayNode ideas = channels.putArray(channelKey);
+            for (int i = 0; i < ideasPerChannel; i++) {
+                ObjectNode idea = mockIdeas.get(i % mockIdeas.size()).deepCopy();
+                if (i >= mockIdeas.size()) {
+                    idea.put("idea", idea.get("idea").asText() + " (variation " + i / mockIdeas.size() + ")");
+                }
+                ideas.add(idea);
+            }
+        }
+        return write(analysis);
+    }
+
+    private static ArrayNode mockIdeas(ObjectNode mock, String channelKey) {
+        Iterator<Map.Entry<String, JsonNode>> mockChannels = mock.get("channels").fields();
+        ArrayNode first = null;
+        while (mockChannels.hasNext()) {
+            Map.Entry<String, JsonNode> channel = mockChannels.next();
+            if (channel.getKey().equalsIgnoreCase(channelKey)) {
+                return (ArrayNode) channel.getValue();
+            }
+            if (first == null) {
+                first = (ArrayNode) channel.getValue();
+            }
+        }
+        return first;
+    }
+
+    private static ObjectNode readMockResponse() {
+        try {
+            return (ObjectNode) MAPPER.readTree(MOCK_RESPONSE.toFile());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read " + MOCK_RESPONSE.toAbsolutePath().normalize(), e);
+        }
+    }
+
+    private static String write(JsonNode node) {
+        try {
+            return MAPPER.writerWithDefaultPrettyPrinter().writeValueAsString(node);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
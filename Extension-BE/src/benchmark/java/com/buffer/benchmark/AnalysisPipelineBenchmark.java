@@ -0,0 +1,147 @@
+package com.buffer.benchmark;
+
+import com.buffer.domain.dto.common.IdeaDetailDto;
+import com.buffer.domain.dto.response.ContentAnalysisResponse;
+import com.buffer.domain.dto.response.OpenAIAnalysisDto;
+import com.buffer.domain.entity.AnalysisSession;
+import com.buffer.domain.entity.ContentIdea;
+import com.buffer.domain.entity.SocialMediaChannel;
+import com.buffer.integration.openai.ResponsesPayloadReader;
+import com.buffer.integration.openai.StreamingAnalysisParser;
+import com.buffer.service.ContentAnalysisService;
+import com.buffer.util.IdGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Analysis Pipeline Benchmark
+ *
+ * Time per operation of the CPU-bound steps every analysis request goes through once the model
+ * has answered: reading the Responses API payload, parsing the analysis out of its output text,
+ * and building the response sent to the extension. Payloads follow the UI's mock response with
+ * 3, 12 and 48 ideas per channel, about 8 KB, 30 KB and 120 KB of output. Run with -prof gc to
+ * see the bytes allocated per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AnalysisPipelineBenchmark {
+
+    // Size of the output text deltas a streamed response arrives in
+    private static final int STREAM_DELTA_CHARS = 24;
+
+    // The real method, which is private to the service
+    private static final MethodHandle BUILD_SUCCESS_RESPONSE = findBuildSuccessResponse();
+
+    @Param({"3", "12", "48"})
+    public int ideasPerChannel;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ResponsesPayloadReader payloadReader = new ResponsesPayloadReader(objectMapper);
+
+    private String analysisJson;
+    private List<String> streamDeltas;
+    private byte[] responsesPayload;
+    private AnalysisSession session;
+
+    @Setup(Level.Trial)
+    public void createPayloads() throws IOException {
+        analysisJson = AnalysisPayloads.analysisJson(ideasPerChannel);
+        responsesPayload = AnalysisPayloads.responsesPayload(analysisJson);
+        streamDeltas = new ArrayList<>();
+        for (int start = 0; start < analysisJson.length(); start += STREAM_DELTA_CHARS) {
+            streamDeltas.add(analysisJson.substring(start, Math.min(start + STREAM_DELTA_CHARS, analysisJson.length())));
+        }
+        session = newSession(objectMapper.readValue(analysisJson, OpenAIAnalysisDto.class));
+    }
+
+    /**
+     * Data binding of the output text, the way the analysis was parsed before the streaming parser
+     */
+    @Benchmark
+    public OpenAIAnalysisDto readAnalysisValue() throws IOException {
+        return objectMapper.readValue(analysisJson, OpenAIAnalysisDto.class);
+    }
+
+    /**
+     * A complete Responses API payload read into the analysis in one pass, as for a non-streamed call
+     */
+    @Benchmark
+    public OpenAIAnalysisDto readResponsesPayload() throws IOException {
+        StreamingAnalysisParser analysisParser = new StreamingAnalysisParser(objectMapper);
+        payloadReader.read(new ByteArrayInputStream(responsesPayload), analysisParser);
+        return analysisParser.finish();
+    }
+
+    /**
+     * The output text fed to the parser as the deltas of a streamed call
+     */
+    @Benchmark
+    public OpenAIAnalysisDto parseStreamedAnalysis() throws IOException {
+        StreamingAnalysisParser analysisParser = new StreamingAnalysisParser(objectMapper);
+        for (String delta : streamDeltas) {
+            analysisParser.feed(delta);
+        }
+        return analysisParser.finish();
+    }
+
+    @Benchmark
+    public ContentAnalysisResponse buildSuccessResponse() throws Throwable {
+        return (ContentAnalysisResponse) BUILD_SUCCESS_RESPONSE.invokeExact(session, "summary");
+    }
+
+    /**
+     * The session the service would store for the analysis
+     */
+    private static AnalysisSession newSession(OpenAIAnalysisDto analysis) {
+        AnalysisSession session = AnalysisSession.builder()
+                .sessionId(IdGenerator.generateChatId())
+                .summary(analysis.getSummary())
+                .createdAt(LocalDateTime.now())
+                .socialMediaChannels(new ArrayList<>())
+                .build();
+        for (Map.Entry<String, List<IdeaDetailDto>> channelIdeas : analysis.getChannels().entrySet()) {
+            SocialMediaChannel channel = SocialMediaChannel.create(session, channelIdeas.getKey());
+            for (IdeaDetailDto idea : channelIdeas.getValue()) {
+                channel.addIdea(ContentIdea.create(channel, idea.getIdea(), idea.getRationale(), idea.getPros(), idea.getCons()));
+            }
+            session.addChannel(channel);
+        }
+        return session;
+    }
+
+    private static MethodHandle findBuildSuccessResponse() {
+        try {
+            return MethodHandles.privateLookupIn(ContentAnalysisService.class, MethodHandles.lookup())
+                    .findStatic(ContentAnalysisService.class, "buildSuccessResponse",
+                            MethodType.methodType(ContentAnalysisResponse.class, AnalysisSession.class, String.class));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("ContentAnalysisService.buildSuccessResponse not found", e);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.buffer.benchmark;
+
+import com.buffer.BufferExtensionApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Starts the application without a web server against a throwaway SQLite file
+ */
+final class BenchmarkApplication {
+
+    private BenchmarkApplication() {
+    }
+
+    static Path createDatabaseFile() throws IOException {
+        return Files.createTempFile("buffer-benchmark", ".db");
+    }
+
+    static ConfigurableApplicationContext start(Path databaseFile, String... arguments) {
+        // Command-line arguments take precedence over src/main/resources/application.properties
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.datasource.url=jdbc:sqlite:" + databaseFile,
+                "--spring.jpa.hibernate.ddl-auto=create",
+                "--openai.api.key=benchmark",
+                "--logging.level.root=WARN"));
+        args.addAll(List.of(arguments));
+        return new SpringApplicationBuilder(BufferExtensionApplication.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .run(args.toArray(String[]::new));
+    }
+
+    static void deleteDatabase(Path databaseFile) throws IOException {
+        Files.deleteIfExists(databaseFile);
+        Files.deleteIfExists(Path.of(databaseFile + "-wal"));
+        Files.deleteIfExists(Path.of(databaseFile + "-shm"));
+    }
+}
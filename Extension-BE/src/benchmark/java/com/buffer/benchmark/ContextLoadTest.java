@@ -0,0 +1,193 @@
+package com.buffer.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Context Load Test
+ *
+ * Drives /api/context (or /api/context/stream) of a running application at rising concurrency,
+ * each step a fixed time of closed-loop clients sending distinct pages so no analysis is served
+ * from the result cache. For every step it reports throughput, p50/p99/max latency, the share of
+ * requests that did not end in SUCCESS with the statuses they got, and how much the store grew,
+ * read from /api/monitor/database. Run it against the application pointed at MockOpenAIServer and
+ * started with analysis.storage.stats-ttl-seconds=0: the row counts of /api/monitor/database are
+ * otherwise cached and may lag the file sizes by a whole step.
+ *
+ * Options, as --name=value: url (http://localhost:8080), concurrency (1,2,4,8,16,32,64),
+ * step-seconds (30), warmup-seconds (10), page-chars (6000), stream (false), timeout-seconds (180)
+ */
+public final class ContextLoadTest {
+
+    private static final String CONTEXT_PATH = "/api/context";
+    private static final String STREAM_PATH = "/api/context/stream";
+    private static final String DATABASE_PATH = "/api/monitor/database";
+    private static final String STATUS_SUCCESS = "SUCCESS";
+    private static final String STREAM_COMPLETE_EVENT = "event:complete";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+    private final AtomicLong pageSeed = new AtomicLong(System.currentTimeMillis());
+
+    private final String baseUrl;
+    private final int[] concurrencyLevels;
+    private final Duration stepDuration;
+    private final Duration warmupDuration;
+    private final int pageChars;
+    private final boolean stream;
+    private final Duration timeout;
+
+    /**
+     * Outcome of one request: its latency and SUCCESS, or what it got instead
+     */
+    private record Sample(long nanos, String outcome) {}
+
+    /**
+     * Store size and session count at a point in time
+     */
+    private record StoreSize(long bytes, long sessions) {}
+
+    ContextLoadTest(Map<String, String> options) {
+        baseUrl = options.getOrDefault("url", "http://localhost:8080");
+        concurrencyLevels = Arrays.stream(options.getOrDefault("concurrency", "1,2,4,8,16,32,64").split(","))
+                .mapToInt(level -> Integer.parseInt(level.trim()))
+                .toArray();
+        stepDuration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("step-seconds", "30")));
+        warmupDuration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup-seconds", "10")));
+        pageChars = Integer.parseInt(options.getOrDefault("page-chars", "6000"));
+        stream = Boolean.parseBoolean(options.getOrDefault("stream", "false"));
+        timeout = Duration.ofSeconds(Long.parseLong(options.getOrDefault("timeout-seconds", "180")));
+    }
+
+    public static void main(String[] args) throws Exception {
+        new ContextLoadTest(MockOpenAIServer.parseOptions(args)).run();
+    }
+
+    void run() throws Exception {
+        System.out.printf("Load testing %s%s, %d s per step%n", baseUrl, stream ? STREAM_PATH : CONTEXT_PATH,
+                stepDuration.toSeconds());
+        if (!warmupDuration.isZero()) {
+            runStep(concurrencyLevels[0], warmupDuration);
+        }
+
+        System.out.printf("%n%11s %9s %9s %9s %9s %9s %8s %9s %12s %13s  %s%n", "concurrency", "requests", "req/s",
+                "p50 ms", "p99 ms", "max ms", "errors", "sessions", "store KB", "bytes/session", "outcomes");
+        for (int concurrency : concurrencyLevels) {
+            StoreSize before = storeSize();
+            long startNanos = System.nanoTime();
+            List<Sample> samples = runStep(concurrency, stepDuration);
+            double seconds = (System.nanoTime() - startNanos) / 1e9;
+            StoreSize after = storeSize();
+            report(concurrency, samples, seconds, before, after);
+        }
+    }
+
+    /**
+     * Keep the given number of requests in flight until the step time is up
+     */
+    private List<Sample> runStep(int concurrency, Duration duration) throws InterruptedException {
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<List<Sample>> perClient = new ArrayList<>();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                List<Sample> samples = new ArrayList<>();
+                perClient.add(samples);
+                clients.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        samples.add(send());
+                    }
+                });
+            }
+        }
+        return perClient.stream().flatMap(List::stream).toList();
+    }
+
+    private Sample send() {
+        long start = System.nanoTime();
+        String outcome;
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + (stream ? STREAM_PATH : CONTEXT_PATH)))
+                    .timeout(timeout)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(requestBody()))
+                    .build();
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            outcome = outcome(response);
+        } catch (IOException e) {
+            outcome = e.getClass().getSimpleName();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            outcome = "interrupted";
+        }
+        return new Sample(System.nanoTime() - start, outcome);
+    }
+
+    private String outcome(HttpResponse<String> response) throws IOException {
+        if (response.statusCode() != 200) {
+            return "HTTP " + response.statusCode();
+        }
+        if (stream) {
+            return response.body().replace(" ", "").contains(STREAM_COMPLETE_EVENT) ? STATUS_SUCCESS : "stream error";
+        }
+        return objectMapper.readTree(response.body()).path("status").asText("no status");
+    }
+
+    private byte[] requestBody() throws IOException {
+        long seed = pageSeed.incrementAndGet();
+        ObjectNode body = objectMapper.createObjectNode();
+        body.put("title", "Growing with reviews " + seed);
+        body.put("url", "https://example.com/reviews/" + seed);
+        body.put("fullText", SessionFixtures.pageText(pageChars, seed));
+        return objectMapper.writeValueAsBytes(body);
+    }
+
+    private StoreSize storeSize() throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(baseUrl + DATABASE_PATH)).build(),
+                HttpResponse.BodyHandlers.ofString());
+        JsonNode health = objectMapper.readTree(response.body());
+        return new StoreSize(health.path("databaseSizeBytes").asLong() + health.path("walSizeBytes").asLong(),
+                health.path("sessionCount").asLong());
+    }
+
+    private void report(int concurrency, List<Sample> samples, double seconds, StoreSize before, StoreSize after) {
+        long[] nanos = samples.stream().mapToLong(Sample::nanos).sorted().toArray();
+        Map<String, Long> outcomes = new TreeMap<>();
+        samples.forEach(sample -> outcomes.merge(sample.outcome(), 1L, Long::sum));
+        long errors = samples.size() - outcomes.getOrDefault(STATUS_SUCCESS, 0L);
+        long sessions = after.sessions() - before.sessions();
+        long storeBytes = after.bytes() - before.bytes();
+
+        System.out.printf("%11d %9d %9.1f %9.0f %9.0f %9.0f %7.1f%% %9d %12.0f %13s  %s%n",
+                concurrency, samples.size(), samples.size() / seconds,
+                percentileMillis(nanos, 0.50), percentileMillis(nanos, 0.99), percentileMillis(nanos, 1.0),
+                samples.isEmpty() ? 0.0 : 100.0 * errors / samples.size(),
+                sessions, storeBytes / 1024.0, sessions > 0 ? String.valueOf(storeBytes / sessions) : "-", outcomes);
+    }
+
+    private static double percentileMillis(long[] sortedNanos, double percentile) {
+        if (sortedNanos.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sortedNanos.length) - 1;
+        return sortedNanos[Math.max(0, index)] / 1e6;
+    }
+}
@@ -0,0 +1,240 @@
+package com.buffer.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Mock OpenAI Server
+ *
+ * Local stand-in for the Responses API endpoint, for load testing without calling OpenAI. Answers
+ * structured output requests with ideas shaped like the UI's mock response for the requested
+ * channels, and plain text requests (chunk summaries) with page-like text, as one payload or as
+ * a stream of output text deltas. Response times follow a log-normal distribution given by its
+ * median and 99th percentile, and a share of requests can be answered with a 429, a 5xx or output
+ * cut off at the token limit. Point the application at it with openai.base-url.
+ *
+ * Options, as --name=value: port (19090), latency-median-ms (800), latency-p99-ms (3000),
+ * rate-limit-rate (0), retry-after-seconds (1), server-error-rate (0), truncation-rate (0),
+ * ideas-per-channel (2), stream-delta-chars (24)
+ */
+public final class MockOpenAIServer {
+
+    private static final String RESPONSES_PATH = "/v1/responses";
+    private static final double P99_STANDARD_SCORE = 2.326;
+    private static final long STATS_INTERVAL_SECONDS = 10;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<List<String>, String> analysisByChannels = new ConcurrentHashMap<>();
+
+    private final int port;
+    private final double latencyMedianMillis;
+    private final double latencySigma;
+    private final double rateLimitRate;
+    private final long retryAfterSeconds;
+    private final double serverErrorRate;
+    private final double truncationRate;
+    private final int ideasPerChannel;
+    private final int streamDeltaChars;
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder streamed = new LongAdder();
+    private final LongAdder rateLimited = new LongAdder();
+    private final LongAdder serverErrors = new LongAdder();
+    private final LongAdder truncated = new LongAdder();
+
+    MockOpenAIServer(Map<String, String> options) {
+        port = Integer.parseInt(options.getOrDefault("port", "19090"));
+        latencyMedianMillis = Double.parseDouble(options.getOrDefault("latency-median-ms", "800"));
+        double latencyP99Millis = Double.parseDouble(options.getOrDefault("latency-p99-ms", "3000"));
+        latencySigma = latencyMedianMillis > 0 && latencyP99Millis > latencyMedianMillis
+                ? Math.log(latencyP99Millis / latencyMedianMillis) / P99_STANDARD_SCORE : 0;
+        rateLimitRate = Double.parseDouble(options.getOrDefault("rate-limit-rate", "0"));
+        retryAfterSeconds = Long.parseLong(options.getOrDefault("retry-after-seconds", "1"));
+        serverErrorRate = Double.parseDouble(options.getOrDefault("server-error-rate", "0"));
+        truncationRate = Double.parseDouble(options.getOrDefault("truncation-rate", "0"));
+        ideasPerChannel = Integer.parseInt(options.getOrDefault("ideas-per-channel", "2"));
+        streamDeltaChars = Integer.parseInt(options.getOrDefault("stream-delta-chars", "24"));
+    }
+
+    public static void main(String[] args) throws IOException {
+        new MockOpenAIServer(parseOptions(args)).start();
+    }
+
+    /**
+     * Options given as --name=value
+     */
+    static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            }
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        return options;
+    }
+
+    void start() throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 1024);
+        server.createContext(RESPONSES_PATH, this::handle);
+        // Simulated latency is a sleep, so every request gets its own virtual thread
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.start();
+
+        Executors.newSingleThreadScheduledExecutor().scheduleAtFixedRate(this::printStats,
+                STATS_INTERVAL_SECONDS, STATS_INTERVAL_SECONDS, TimeUnit.SECONDS);
+        System.out.printf("Mock OpenAI listening on http://127.0.0.1:%d/v1 (latency median %.0f ms, sigma %.2f, "
+                        + "429 rate %.2f, 5xx rate %.2f, truncation rate %.2f)%n",
+                port, latencyMedianMillis, latencySigma, rateLimitRate, serverErrorRate, truncationRate);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                sendJson(exchange, 405, error("Method not allowed", "invalid_request_error"));
+                return;
+            }
+            JsonNode request;
+            try (InputStream body = exchange.getRequestBody()) {
+                request = objectMapper.readTree(body);
+            }
+            requests.increment();
+
+            // Failures come back before any output, as they do from OpenAI
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            double roll = random.nextDouble();
+            if (roll < rateLimitRate) {
+                rateLimited.increment();
+                exchange.getResponseHeaders().set("retry-after", String.valueOf(retryAfterSeconds));
+                sendJson(exchange, 429, error("Rate limit reached for requests", "requests"));
+                return;
+            }
+            if (roll < rateLimitRate + serverErrorRate) {
+                serverErrors.increment();
+                sleep(sampleLatencyMillis(random) / 4);
+                sendJson(exchange, random.nextBoolean() ? 500 : 503, error("The server had an error", "server_error"));
+                return;
+            }
+
+            String outputText = outputText(request);
+            boolean complete = random.nextDouble() >= truncationRate;
+            if (!complete) {
+                truncated.increment();
+                outputText = outputText.substring(0, random.nextInt(outputText.length() / 4, outputText.length() * 3 / 4));
+            }
+            long latencyMillis = sampleLatencyMillis(random);
+            if (request.path("stream").asBoolean()) {
+                streamed.increment();
+                stream(exchange, outputText, complete, latencyMillis);
+            } else {
+                sleep(latencyMillis);
+                exchange.getResponseHeaders().set("Content-Type", "application/json");
+                byte[] payload = AnalysisPayloads.responsesPayload(outputText, complete);
+                exchange.sendResponseHeaders(200, payload.length);
+                exchange.getResponseBody().write(payload);
+            }
+        }
+    }
+
+    /**
+     * Structured output for the channels the schema requires, or page-like text for a plain text request
+     */
+    private String outputText(JsonNode request) {
+        JsonNode format = request.path("text").path("format");
+        if (!"json_schema".equals(format.path("type").asText())) {
+            return SessionFixtures.pageText(1200, ThreadLocalRandom.current().nextLong());
+        }
+        List<String> channelKeys = new ArrayList<>();
+        format.path("schema").path("properties").path("channels").path("required")
+                .forEach(channel -> channelKeys.add(channel.asText()));
+        return analysisByChannels.computeIfAbsent(channelKeys,
+                channels -> AnalysisPayloads.analysisJson(channels, ideasPerChannel));
+    }
+
+    /**
+     * Send the output as Server-Sent Events, spreading the latency over the deltas
+     */
+    private void stream(HttpExchange exchange, String outputText, boolean complete, long latencyMillis) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "text/event-stream");
+        exchange.sendResponseHeaders(200, 0);
+        OutputStream out = exchange.getResponseBody();
+        writeEvent(out, "response.created", objectMapper.createObjectNode().put("type", "response.created"));
+
+        int deltas = Math.max(1, (outputText.length() + streamDeltaChars - 1) / streamDeltaChars);
+        double delayMillis = (double) latencyMillis / deltas;
+        double owedMillis = 0;
+        for (int start = 0; start < outputText.length(); start += streamDeltaChars) {
+            owedMillis += delayMillis;
+            if (owedMillis >= 1) {
+                sleep((long) owedMillis);
+                owedMillis -= (long) owedMillis;
+            }
+            writeEvent(out, "response.output_text.delta", objectMapper.createObjectNode()
+                    .put("type", "response.output_text.delta")
+                    .put("delta", outputText.substring(start, Math.min(start + streamDeltaChars, outputText.length()))));
+        }
+
+        String type = complete ? "response.completed" : "response.incomplete";
+        ObjectNode done = objectMapper.createObjectNode().put("type", type);
+        ObjectNode response = done.putObject("response").put("status", complete ? "completed" : "incomplete");
+        response.putObject("usage").put("input_tokens", 2400).put("output_tokens", outputText.length() / 4);
+        writeEvent(out, type, done);
+    }
+
+    private void writeEvent(OutputStream out, String event, JsonNode data) throws IOException {
+        out.write(("event: " + event + "\ndata: " + objectMapper.writeValueAsString(data) + "\n\n")
+                .getBytes(StandardCharsets.UTF_8));
+        out.flush();
+    }
+
+    private void sendJson(HttpExchange exchange, int status, JsonNode body) throws IOException {
+        byte[] bytes = objectMapper.writeValueAsBytes(body);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+    }
+
+    private JsonNode error(String message, String type) {
+        ObjectNode body = objectMapper.createObjectNode();
+        body.putObject("error").put("message", message).put("type", type);
+        return body;
+    }
+
+    private long sampleLatencyMillis(ThreadLocalRandom random) {
+        if (latencyMedianMillis <= 0) {
+            return 0;
+        }
+        return Math.round(latencyMedianMillis * Math.exp(latencySigma * random.nextGaussian()));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void printStats() {
+        System.out.printf("requests=%d streamed=%d 429=%d 5xx=%d truncated=%d%n",
+                requests.sum(), streamed.sum(), rateLimited.sum(), serverErrors.sum(), truncated.sum());
+    }
+}
@@ -0,0 +1,86 @@
+package com.buffer.benchmark;
+
+import com.buffer.service.OpenAIService;
+import com.buffer.web.config.AIConstants;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Prompt Building Benchmark
+ *
+ * Time per operation of what every OpenAI call builds before it is sent: the system prompt and
+ * the structured output schema, alone and serialized as it is in the request body. Runs for a
+ * single channel, as in a per-channel call, and for all three.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PromptBuildingBenchmark {
+
+    // The real method, which is private to the service
+    private static final MethodHandle CREATE_SCHEMA_DEFINITION = findCreateSchemaDefinition();
+
+    @Param({"1", "3"})
+    public int channelCount;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private List<String> channelKeys;
+
+    @Setup(Level.Trial)
+    public void selectChannels() {
+        channelKeys = AIConstants.DEFAULT_CHANNELS.subList(0, channelCount);
+    }
+
+    @Benchmark
+    public String buildSystemPrompt() {
+        return AIConstants.buildSystemPrompt(String.join(", ", channelKeys),
+                AIConstants.BUSINESS_CONTEXT, AIConstants.TARGET_AUDIENCE);
+    }
+
+    @Benchmark
+    public Map<String, Object> buildSchema() throws Throwable {
+        return createSchemaDefinition();
+    }
+
+    @Benchmark
+    public byte[] buildAndWriteSchema() throws Throwable {
+        return objectMapper.writeValueAsBytes(createSchemaDefinition());
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> createSchemaDefinition() throws Throwable {
+        return (Map<String, Object>) CREATE_SCHEMA_DEFINITION.invokeExact(channelKeys);
+    }
+
+    private static MethodHandle findCreateSchemaDefinition() {
+        try {
+            return MethodHandles.privateLookupIn(OpenAIService.class, MethodHandles.lookup())
+                    .findStatic(OpenAIService.class, "createSchemaDefinition",
+                            MethodType.methodType(Map.class, List.class));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("OpenAIService.createSchemaDefinition not found", e);
+        }
+    }
+}
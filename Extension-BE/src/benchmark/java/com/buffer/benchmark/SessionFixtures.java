@@ -0,0 +1,87 @@
+package com.buffer.benchmark;
+
+import com.buffer.domain.entity.AnalysisSession;
+import com.buffer.domain.entity.ContentIdea;
+import com.buffer.domain.entity.SocialMediaChannel;
+import com.buffer.domain.enums.ChannelType;
+import com.buffer.util.IdGenerator;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Session graphs shaped like a typical analysis: 3 channels of 3 ideas with pros, cons and
+ * headings, 62 rows in all
+ */
+final class SessionFixtures {
+
+    private static final int IDEAS_PER_CHANNEL = 3;
+    private static final String CONTENT = "Small businesses that respond to reviews within a day see more repeat customers. "
+            .repeat(60);
+
+    // Varied enough that text generated from it compresses about as well as real page text
+    private static final String[] WORDS = ("the a of to and in for on with that your our customers reviews review "
+            + "business small local team owner staff service product store shop menu order delivery price quality "
+            + "response respond reply replies quickly fast day week month year time people guests clients visit "
+            + "visits returning repeat loyal new first star stars rating ratings feedback complaint praise trust "
+            + "online search google maps social media post posts share photo photos video story stories brand "
+            + "helps help shows show builds build grows grow makes make keeps keep turns turn asks ask thanks "
+            + "thank listen listens learn improve better more most less every each many some few great good bad "
+            + "negative positive honest public private message email text offer discount coupon event season "
+            + "holiday weekend morning evening because when while after before since although however also").split(" ");
+
+    private SessionFixtures() {
+    }
+
+    static AnalysisSession newSession() {
+        return newSession(CONTENT);
+    }
+
+    /**
+     * Page-like text of roughly the given length, the same for the same seed
+     */
+    static String pageText(int length, long seed) {
+        Random random = new Random(seed);
+        StringBuilder text = new StringBuilder(length + 200);
+        while (text.length() < length) {
+            int words = 8 + random.nextInt(14);
+            for (int i = 0; i < words; i++) {
+                String word = WORDS[(int) (WORDS.length * Math.pow(random.nextDouble(), 1.5))];
+                text.append(i == 0 ? Character.toUpperCase(word.charAt(0)) + word.substring(1) : word);
+                text.append(i == words - 1 ? ". " : " ");
+            }
+            if (random.nextInt(5) == 0) {
+                text.append('\n');
+            }
+        }
+        return text.toString();
+    }
+
+    static AnalysisSession newSession(String content) {
+        AnalysisSession session = AnalysisSession.builder()
+                .sessionId(IdGenerator.generateChatId())
+                .originalContent(content)
+                .title("Growing with reviews")
+                .url("https://example.com/reviews")
+                .headings(new ArrayList<>(List.of("Why reviews matter", "Responding fast", "Asking for reviews", "Tools")))
+                .summary("How quick review responses drive repeat business")
+                .createdAt(LocalDateTime.now())
+                .socialMediaChannels(new ArrayList<>())
+                .build();
+
+        for (ChannelType type : ChannelType.values()) {
+            SocialMediaChannel channel = SocialMediaChannel.create(session, type);
+            for (int i = 0; i < IDEAS_PER_CHANNEL; i++) {
+                channel.addIdea(ContentIdea.create(channel,
+                        "Share a customer review and how the team responded to it, idea " + i,
+                        "Social proof performs well and shows the business listens",
+                        List.of("Builds trust", "Easy to produce", "Encourages more reviews"),
+                        List.of("Needs customer permission", "Negative reviews need care")));
+            }
+            session.addChannel(channel);
+        }
+        return session;
+    }
+}
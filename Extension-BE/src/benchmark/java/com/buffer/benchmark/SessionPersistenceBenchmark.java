@@ -0,0 +1,95 @@
+package com.buffer.benchmark;
+
+import com.buffer.domain.entity.AnalysisSession;
+import com.buffer.repository.DatabaseAnalysisSessionRepository;
+import com.buffer.repository.JpaAnalysisSessionRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Session Persistence Benchmark
+ *
+ * Sessions stored per second against a SQLite file, comparing the former write path
+ * ({@code merge}: Spring Data save of a new graph without JDBC batching) with the batched
+ * single-transaction persist used by {@link DatabaseAnalysisSessionRepository}. Each session
+ * is a typical analysis from {@link SessionFixtures}. {@code storeSessionGroup} stores sessions
+ * in groups, as the write-behind writer does, and still reports sessions per second.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SessionPersistenceBenchmark {
+
+    private static final int GROUP_SIZE = 20;
+
+    @Param({"merge", "batched"})
+    public String strategy;
+
+    private Path databaseFile;
+    private ConfigurableApplicationContext context;
+    private JpaAnalysisSessionRepository jpaRepository;
+    private DatabaseAnalysisSessionRepository repository;
+
+    @Setup(Level.Trial)
+    public void startContext() throws IOException {
+        databaseFile = BenchmarkApplication.createDatabaseFile();
+        boolean batched = "batched".equals(strategy);
+        context = BenchmarkApplication.start(databaseFile,
+                "--analysis.persistence.batch-size=" + (batched ? 50 : 0),
+                "--spring.jpa.properties.hibernate.order_inserts=" + batched);
+        jpaRepository = context.getBean(JpaAnalysisSessionRepository.class);
+        repository = context.getBean(DatabaseAnalysisSessionRepository.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopContext() throws IOException {
+        context.close();
+        BenchmarkApplication.deleteDatabase(databaseFile);
+    }
+
+    @Benchmark
+    public void storeSession() {
+        AnalysisSession session = SessionFixtures.newSession();
+        if ("batched".equals(strategy)) {
+            repository.storeSession(session);
+        } else {
+            jpaRepository.save(session);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(GROUP_SIZE)
+    public void storeSessionGroup() {
+        List<AnalysisSession> sessions = new ArrayList<>(GROUP_SIZE);
+        for (int i = 0; i < GROUP_SIZE; i++) {
+            sessions.add(SessionFixtures.newSession());
+        }
+        if ("batched".equals(strategy)) {
+            repository.storeSessions(sessions);
+        } else {
+            jpaRepository.saveAll(sessions);
+        }
+    }
+}
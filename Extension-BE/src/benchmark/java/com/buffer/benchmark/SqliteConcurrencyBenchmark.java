@@ -0,0 +1,114 @@
+package com.buffer.benchmark;
+
+import com.buffer.domain.entity.AnalysisSession;
+import com.buffer.repository.DatabaseAnalysisSessionRepository;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SQLite Concurrency Benchmark
+ *
+ * Latency of session reads while another thread keeps storing sessions, with the default
+ * datasource (rollback journal, one shared pool) and with the sqlite-perf profile (WAL, a
+ * single-connection write pool and a separate read pool). Without WAL a reader cannot proceed
+ * while a write commits, so read latency follows write latency; with WAL it should not.
+ * Reads and writes that failed, e.g. with SQLITE_BUSY, are reported as counters.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class SqliteConcurrencyBenchmark {
+
+    private static final int SEEDED_SESSIONS = 200;
+
+    @Param({"default", "sqlite-perf"})
+    public String profile;
+
+    private Path databaseFile;
+    private ConfigurableApplicationContext context;
+    private DatabaseAnalysisSessionRepository repository;
+    private final List<String> sessionIds = new ArrayList<>();
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Failures {
+        public long failedReads;
+        public long failedWrites;
+    }
+
+    @Setup(Level.Trial)
+    public void startContext() throws IOException {
+        databaseFile = BenchmarkApplication.createDatabaseFile();
+        context = "sqlite-perf".equals(profile)
+                ? BenchmarkApplication.start(databaseFile, "--spring.profiles.active=sqlite-perf")
+                : BenchmarkApplication.start(databaseFile);
+        repository = context.getBean(DatabaseAnalysisSessionRepository.class);
+
+        List<AnalysisSession> sessions = new ArrayList<>(SEEDED_SESSIONS);
+        for (int i = 0; i < SEEDED_SESSIONS; i++) {
+            AnalysisSession session = SessionFixtures.newSession();
+            sessions.add(session);
+            sessionIds.add(session.getSessionId());
+        }
+        repository.storeSessions(sessions);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopContext() throws IOException {
+        context.close();
+        BenchmarkApplication.deleteDatabase(databaseFile);
+    }
+
+    @Benchmark
+    @Group("readWhileWriting")
+    @GroupThreads(1)
+    public void write(Failures failures) {
+        try {
+            repository.storeSession(SessionFixtures.newSession());
+        } catch (RuntimeException e) {
+            failures.failedWrites++;
+        }
+    }
+
+    @Benchmark
+    @Group("readWhileWriting")
+    @GroupThreads(3)
+    public AnalysisSession read(Failures failures) {
+        String sessionId = sessionIds.get(ThreadLocalRandom.current().nextInt(sessionIds.size()));
+        AnalysisSession session = null;
+        try {
+            session = repository.getSession(sessionId);
+        } catch (RuntimeException e) {
+            // Handled below; getSession itself reports most failures as null
+        }
+        if (session == null) {
+            failures.failedReads++;
+        }
+        return session;
+    }
+}
@@ -0,0 +1,91 @@
+package com.buffer.benchmark;
+
+import com.buffer.domain.entity.AnalysisSession;
+import com.buffer.repository.AnalysisSessionRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.annotation.BeanFactoryAnnotationUtils;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Storage Backend Benchmark
+ *
+ * Sessions stored and read per second with the SQLite backend and with the append-only log
+ * backend, selected through analysis.storage.backend. Each backend runs with its default
+ * durability: SQLite syncs on every commit, the log leaves syncing to the OS unless
+ * analysis.storage.append-only.sync-on-write is set.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StorageBackendBenchmark {
+
+    private static final int SEEDED_SESSIONS = 200;
+
+    @Param({"database", "append-only"})
+    public String backend;
+
+    private Path databaseFile;
+    private Path sessionLog;
+    private ConfigurableApplicationContext context;
+    private AnalysisSessionRepository repository;
+    private final List<String> sessionIds = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void startContext() throws IOException {
+        databaseFile = BenchmarkApplication.createDatabaseFile();
+        sessionLog = Files.createTempFile("buffer-benchmark", ".log");
+        context = BenchmarkApplication.start(databaseFile,
+                "--analysis.storage.backend=" + backend,
+                "--analysis.storage.append-only.path=" + sessionLog);
+        repository = BeanFactoryAnnotationUtils.qualifiedBeanOfType(context.getBeanFactory(),
+                AnalysisSessionRepository.class, AnalysisSessionRepository.STORAGE_BACKEND);
+
+        List<AnalysisSession> sessions = new ArrayList<>(SEEDED_SESSIONS);
+        for (int i = 0; i < SEEDED_SESSIONS; i++) {
+            AnalysisSession session = SessionFixtures.newSession();
+            sessions.add(session);
+            sessionIds.add(session.getSessionId());
+        }
+        repository.storeSessions(sessions);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopContext() throws IOException {
+        context.close();
+        BenchmarkApplication.deleteDatabase(databaseFile);
+        Files.deleteIfExists(sessionLog);
+    }
+
+    @Benchmark
+    public void storeSession() {
+        repository.storeSession(SessionFixtures.newSession());
+    }
+
+    @Benchmark
+    public AnalysisSession getSession() {
+        return repository.getSession(sessionIds.get(ThreadLocalRandom.current().nextInt(sessionIds.size())));
+    }
+}
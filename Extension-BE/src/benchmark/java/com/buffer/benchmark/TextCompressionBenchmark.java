@@ -0,0 +1,100 @@
+package com.buffer.benchmark;
+
+import com.buffer.domain.entity.AnalysisSession;
+import com.buffer.repository.DatabaseAnalysisSessionRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Text Compression Benchmark
+ *
+ * Sessions stored and read per second with the large text columns stored as they are and
+ * compressed, for sessions carrying a typical page of text. The database size per stored
+ * session is printed when each trial ends.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TextCompressionBenchmark {
+
+    private static final int SEEDED_SESSIONS = 200;
+    private static final int PAGE_TEXT_LENGTH = 20_000;
+
+    @Param({"false", "true"})
+    public boolean compression;
+
+    private Path databaseFile;
+    private ConfigurableApplicationContext context;
+    private DatabaseAnalysisSessionRepository repository;
+    private final List<String> sessionIds = new ArrayList<>();
+    private final List<String> pages = new ArrayList<>();
+    private final AtomicLong storedSessions = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void startContext() throws IOException {
+        databaseFile = BenchmarkApplication.createDatabaseFile();
+        context = BenchmarkApplication.start(databaseFile, "--analysis.storage.compression.enabled=" + compression);
+        repository = context.getBean(DatabaseAnalysisSessionRepository.class);
+
+        for (int i = 0; i < 16; i++) {
+            pages.add(SessionFixtures.pageText(PAGE_TEXT_LENGTH, i));
+        }
+        List<AnalysisSession> sessions = new ArrayList<>(SEEDED_SESSIONS);
+        for (int i = 0; i < SEEDED_SESSIONS; i++) {
+            AnalysisSession session = SessionFixtures.newSession(pages.get(i % pages.size()));
+            sessions.add(session);
+            sessionIds.add(session.getSessionId());
+        }
+        repository.storeSessions(sessions);
+        storedSessions.set(SEEDED_SESSIONS);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopContext() throws IOException {
+        long databaseBytes = Files.size(databaseFile);
+        System.out.printf("%ncompression=%s: %d bytes of database for %d sessions, %d bytes per session%n",
+                compression, databaseBytes, storedSessions.get(), databaseBytes / storedSessions.get());
+        context.close();
+        BenchmarkApplication.deleteDatabase(databaseFile);
+    }
+
+    @Benchmark
+    public void storeSession() {
+        repository.storeSession(SessionFixtures.newSession(pages.get(ThreadLocalRandom.current().nextInt(pages.size()))));
+        storedSessions.incrementAndGet();
+    }
+
+    @Benchmark
+    public AnalysisSession getSession() {
+        return repository.getSession(sessionIds.get(ThreadLocalRandom.current().nextInt(sessionIds.size())));
+    }
+
+    @Benchmark
+    public String getSessionContent() {
+        return repository.getSessionContent(sessionIds.get(ThreadLocalRandom.current().nextInt(sessionIds.size())));
+    }
+}
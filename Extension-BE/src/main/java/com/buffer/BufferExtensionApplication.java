@@ -3,9 +3,21 @@ package com.buffer;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 
+import java.util.Map;
+
 @SpringBootApplication
 public class BufferExtensionApplication {
+
+    // Prometheus scrape endpoint at /api/monitor/prometheus, next to the monitoring endpoints.
+    // Defaults only: any of these can still be overridden in application.properties.
+    private static final Map<String, Object> DEFAULT_PROPERTIES = Map.of(
+            "management.endpoints.web.base-path", "/api/monitor",
+            "management.endpoints.web.exposure.include", "prometheus",
+            "management.endpoints.web.discovery.enabled", "false");
+
     public static void main(String[] args) {
-        SpringApplication.run(BufferExtensionApplication.class, args);
+        SpringApplication application = new SpringApplication(BufferExtensionApplication.class);
+        application.setDefaultProperties(DEFAULT_PROPERTIES);
+        application.run(args);
     }
-} 
\ No newline at end of file
+}
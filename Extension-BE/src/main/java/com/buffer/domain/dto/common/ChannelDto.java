@@ -0,0 +1,40 @@
+package com.buffer.domain.dto.common;
+
+import com.buffer.domain.entity.SocialMediaChannel;
+import com.buffer.domain.enums.ChannelType;
+import lombok.Data;
+import lombok.Builder;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Channel DTO
+ *
+ * DTO representing a stored social media channel with its content ideas as returned by
+ * monitoring endpoints. Contains plain values only, so serializing it never reaches back
+ * into the session or triggers lazy loading.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChannelDto {
+    private String channelId;
+    private ChannelType name;
+    private String description;
+    private LocalDateTime createdAt;
+    private List<ContentIdeaDto> contentIdeas;
+
+    public static ChannelDto fromChannel(SocialMediaChannel channel) {
+        return ChannelDto.builder()
+                .channelId(channel.getChannelId())
+                .name(channel.getName())
+                .description(channel.getDescription())
+                .createdAt(channel.getCreatedAt())
+                .contentIdeas(channel.getContentIdeas().stream().map(ContentIdeaDto::fromIdea).toList())
+                .build();
+    }
+}
@@ -0,0 +1,41 @@
+package com.buffer.domain.dto.common;
+
+import com.buffer.domain.entity.ContentIdea;
+import lombok.Data;
+import lombok.Builder;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Content Idea DTO
+ *
+ * DTO representing a stored content idea as returned by monitoring endpoints. Contains the
+ * idea ID, description, rationale, pros/cons and creation date, without the reference back
+ * to its channel.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ContentIdeaDto {
+    private String ideaId;
+    private String description;
+    private String rationale;
+    private List<String> pros;
+    private List<String> cons;
+    private LocalDateTime createdAt;
+
+    public static ContentIdeaDto fromIdea(ContentIdea contentIdea) {
+        return ContentIdeaDto.builder()
+                .ideaId(contentIdea.getIdeaId())
+                .description(contentIdea.getDescription())
+                .rationale(contentIdea.getRationale())
+                .pros(contentIdea.getPros() != null ? List.copyOf(contentIdea.getPros()) : null)
+                .cons(contentIdea.getCons() != null ? List.copyOf(contentIdea.getCons()) : null)
+                .createdAt(contentIdea.getCreatedAt())
+                .build();
+    }
+}
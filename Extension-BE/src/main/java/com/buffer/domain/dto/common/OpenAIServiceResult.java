@@ -1,34 +1,68 @@
 package com.buffer.domain.dto.common;
 
+import com.buffer.domain.dto.response.OpenAIAnalysisDto;
+
 /**
  * Result wrapper for OpenAI analysis operations.
  * Provides clean success/failure states and error handling.
+ * A truncated result is a failure whose output ended before the structured JSON was complete,
+ * which callers may recover from by retrying with shorter input. A rejected result is a failure
+ * where the call was shed by the client-side rate limiter before reaching OpenAI.
  */
 public class OpenAIServiceResult {
     private final boolean success;
-    private final String content;
+    private final boolean truncated;
+    private final boolean rejected;
+    private final OpenAIAnalysisDto analysis;
     private final String errorMessage;
 
-    private OpenAIServiceResult(boolean success, String content, String errorMessage) {
+    private OpenAIServiceResult(boolean success, boolean truncated, boolean rejected, OpenAIAnalysisDto analysis,
+                                String errorMessage) {
         this.success = success;
-        this.content = content;
+        this.truncated = truncated;
+        this.rejected = rejected;
+        this.analysis = analysis;
         this.errorMessage = errorMessage;
     }
 
-    public static OpenAIServiceResult success(String content) {
-        return new OpenAIServiceResult(true, content, null);
+    public static OpenAIServiceResult success(OpenAIAnalysisDto analysis) {
+        return new OpenAIServiceResult(true, false, false, analysis, null);
     }
 
     public static OpenAIServiceResult failure(String errorMessage) {
-        return new OpenAIServiceResult(false, null, errorMessage);
+        return new OpenAIServiceResult(false, false, false, null, errorMessage);
+    }
+
+    public static OpenAIServiceResult truncated(String errorMessage) {
+        return new OpenAIServiceResult(false, true, false, null, errorMessage);
+    }
+
+    public static OpenAIServiceResult rejected(String errorMessage) {
+        return new OpenAIServiceResult(false, false, true, null, errorMessage);
     }
 
     public boolean isSuccess() {
         return success;
     }
 
-    public String getContent() {
-        return content;
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    public boolean isRejected() {
+        return rejected;
+    }
+
+    /**
+     * A successful result that is missing some of the requested channels
+     */
+    public boolean isPartial() {
+        return success && analysis != null && analysis.getFailedChannels() != null
+                && !analysis.getFailedChannels().isEmpty();
+    }
+
+    public OpenAIAnalysisDto getAnalysis() {
+        return analysis;
     }
 
     public String getErrorMessage() {
@@ -0,0 +1,28 @@
+package com.buffer.domain.dto.common;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Session Summary DTO
+ *
+ * Lightweight projection of an analysis session for listings. Carries only the identifying
+ * metadata and the channel and idea counts, never the stored page content or the ideas
+ * themselves, so a page of summaries costs the same regardless of how large sessions are.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SessionSummaryDto {
+    private String sessionId;
+    private String title;
+    private String url;
+    private LocalDateTime createdAt;
+    private long channelCount;
+    private long totalIdeas;
+}
@@ -0,0 +1,24 @@
+package com.buffer.domain.dto.common;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.Map;
+
+/**
+ * Storage Stats DTO
+ *
+ * Aggregate view of what a session repository holds: session, channel and idea totals,
+ * row counts per underlying table, and the on-disk size of the store and its write-ahead
+ * log. Computed from aggregates and file metadata without loading any session.
+ */
+@Data
+@Builder
+public class StorageStatsDto {
+    private long sessionCount;
+    private long channelCount;
+    private long ideaCount;
+    private Map<String, Long> tableRowCounts;
+    private long databaseSizeBytes;
+    private long walSizeBytes;
+}
@@ -8,7 +8,7 @@ import java.util.List;
  *
  * DTO representing a request for content analysis from browser extensions
  * or client applications. Contains webpage metadata (title, description, URL), extracted
- * content (full text, headings), and optional channel preferences for targeted social
+ * content (full text, headings, link texts), and optional channel preferences for targeted social
  * media idea generation.
  */
 @Data
@@ -18,5 +18,6 @@ public class ContentAnalysisRequest {
     private String description;
     private String url;
     private List<String> headings;
+    private List<String> linkTexts;
     private List<String> channels;
 } 
\ No newline at end of file
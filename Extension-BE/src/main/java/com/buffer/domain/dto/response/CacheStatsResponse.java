@@ -0,0 +1,26 @@
+package com.buffer.domain.dto.response;
+
+import lombok.Data;
+import lombok.Builder;
+
+/**
+ * Cache Stats Response DTO
+ *
+ * DTO representing the current state of an in-memory cache. Contains configured bounds,
+ * hit, miss and eviction counters, and how many concurrent duplicate loads were coalesced.
+ * Used by monitoring endpoints to judge how much upstream work the cache is saving.
+ */
+@Data
+@Builder
+public class CacheStatsResponse {
+    private boolean enabled;
+    private long size;
+    private long maxSize;
+    private long ttlSeconds;
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+    private double hitRate;
+    private int inFlightCount;
+    private long coalescedCount;
+}
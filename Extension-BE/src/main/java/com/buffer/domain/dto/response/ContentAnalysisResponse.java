@@ -1,6 +1,7 @@
 package com.buffer.domain.dto.response;
 
 import com.buffer.domain.dto.common.IdeaDetailDto;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Data;
 import java.util.Map;
 import java.util.List;
@@ -20,4 +21,6 @@ public class ContentAnalysisResponse {
     private String chatID;
     private ContentAnalysisStatus status;
     private Map<String, List<IdeaDetailDto>> channels;
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    private List<String> failedChannels;
 } 
\ No newline at end of file
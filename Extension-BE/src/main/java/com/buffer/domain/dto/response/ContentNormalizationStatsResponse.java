@@ -0,0 +1,25 @@
+package com.buffer.domain.dto.response;
+
+import lombok.Data;
+import lombok.Builder;
+
+/**
+ * Content Normalization Stats Response DTO
+ *
+ * DTO representing how much page content the pre-processing stage has removed before
+ * analysis. Contains totals of bytes, input tokens and lines before and after normalization
+ * across all requests since startup. Used by monitoring endpoints to judge prompt savings.
+ */
+@Data
+@Builder
+public class ContentNormalizationStatsResponse {
+    private boolean enabled;
+    private long requestCount;
+    private long originalBytes;
+    private long normalizedBytes;
+    private long bytesSaved;
+    private long originalTokens;
+    private long normalizedTokens;
+    private long tokensSaved;
+    private long linesRemoved;
+}
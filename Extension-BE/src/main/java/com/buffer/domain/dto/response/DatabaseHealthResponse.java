@@ -1,20 +1,29 @@
 package com.buffer.domain.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Data;
 import lombok.Builder;
 
+import java.util.Map;
+
 /**
  * Database Health Response DTO
  *
  * DTO representing the health status and statistics of the database.
  * Contains metrics about stored analysis sessions, total ideas generated, and channel
- * distribution. Used by monitoring endpoints to provide system health insights.
+ * distribution, along with per-table row counts and the size of the database file and
+ * its write-ahead log. Used by monitoring endpoints to provide system health insights.
  */
 @Data
 @Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class DatabaseHealthResponse {
     private String status;
-    private int sessionCount;
-    private int totalIdeas;
-    private int totalChannels;
+    private long sessionCount;
+    private long totalIdeas;
+    private long totalChannels;
+    private Map<String, Long> tableRowCounts;
+    private Long databaseSizeBytes;
+    private Long walSizeBytes;
+    private String message;
 }
@@ -0,0 +1,28 @@
+package com.buffer.domain.dto.response;
+
+import lombok.Data;
+import lombok.Builder;
+
+import java.util.Map;
+
+/**
+ * Hedging Stats Response DTO
+ *
+ * DTO representing the state of OpenAI request hedging. Contains the current hedge delay per
+ * operation (null until enough latencies are known), how many calls were made, how many were
+ * hedged and won by the hedge, how many hedges the budget denied, and the hedges it has left.
+ */
+@Data
+@Builder
+public class HedgingStatsResponse {
+    private boolean enabled;
+    private double percentile;
+    private double maxHedgePercent;
+    private Map<String, Long> hedgeDelayMillis;
+    private long callCount;
+    private long hedgeCount;
+    private long hedgeWonCount;
+    private long hedgeDeniedCount;
+    private double hedgePercent;
+    private long availableHedges;
+}
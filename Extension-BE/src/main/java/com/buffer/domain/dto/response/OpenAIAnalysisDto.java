@@ -28,4 +28,6 @@ public class OpenAIAnalysisDto {
     private String status;
     private String summary;
     private Map<String, List<IdeaDetailDto>> channels;
+    // Channels whose call failed when the analysis was fanned out per channel
+    private List<String> failedChannels;
 }
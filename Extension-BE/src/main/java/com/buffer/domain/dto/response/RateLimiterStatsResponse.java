@@ -0,0 +1,29 @@
+package com.buffer.domain.dto.response;
+
+import lombok.Data;
+import lombok.Builder;
+
+/**
+ * Rate Limiter Stats Response DTO
+ *
+ * DTO representing the state of the client-side OpenAI rate limiter. Contains the current
+ * request and token budgets as last reported by OpenAI, the adaptive concurrency limit, queue
+ * depth, and how many calls were admitted, throttled by OpenAI, or shed locally.
+ */
+@Data
+@Builder
+public class RateLimiterStatsResponse {
+    private boolean enabled;
+    private long requestsPerMinute;
+    private long tokensPerMinute;
+    private long availableRequests;
+    private long availableTokens;
+    private double concurrencyLimit;
+    private int inFlight;
+    private int queued;
+    private int queueCapacity;
+    private long admittedCount;
+    private long throttledCount;
+    private long shedCount;
+    private long blockedForMillis;
+}
@@ -0,0 +1,35 @@
+package com.buffer.domain.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+import lombok.Builder;
+
+import java.time.LocalDateTime;
+
+/**
+ * Retention Stats Response DTO
+ *
+ * DTO representing the configuration and results of the session retention job. Contains the
+ * configured ages, what the last run deleted, archived and trimmed, how much space it gave back
+ * and how long it took, plus totals since startup.
+ */
+@Data
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class RetentionStatsResponse {
+    private boolean enabled;
+    private long maxAgeDays;
+    private long contentMaxAgeDays;
+    private String archiveDirectory;
+    private LocalDateTime lastRunAt;
+    private long lastRunMillis;
+    private long lastSessionsDeleted;
+    private long lastContentDropped;
+    private long lastBytesReclaimed;
+    private String lastArchiveFile;
+    private String lastError;
+    private long totalSessionsDeleted;
+    private long totalSessionsArchived;
+    private long totalContentDropped;
+    private long totalBytesReclaimed;
+}
@@ -0,0 +1,27 @@
+package com.buffer.domain.dto.response;
+
+import lombok.Data;
+import lombok.Builder;
+
+/**
+ * Session Cache Stats Response DTO
+ *
+ * DTO representing the state of the in-memory session cache. Contains the number of cached
+ * sessions, their estimated size against the configured bound, and hit, miss and eviction
+ * counters. Used by monitoring endpoints to judge how many session reads skip storage.
+ */
+@Data
+@Builder
+public class SessionCacheStatsResponse {
+    private boolean enabled;
+    private long size;
+    private long weightBytes;
+    private long maxWeightBytes;
+    private long ttlSeconds;
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+    private long evictionWeightBytes;
+    private double hitRate;
+    private double averageLoadMillis;
+}
@@ -0,0 +1,20 @@
+package com.buffer.domain.dto.response;
+
+import lombok.Data;
+import lombok.Builder;
+
+/**
+ * Session Content Response DTO
+ *
+ * DTO representing the page content stored for a specific analysis session.
+ * Kept separate from the session listing and details so the potentially large
+ * content is only transferred when it is explicitly requested.
+ */
+@Data
+@Builder
+public class SessionContentResponse {
+    private String sessionId;
+    private String status;
+    private String content;
+    private String message;
+}
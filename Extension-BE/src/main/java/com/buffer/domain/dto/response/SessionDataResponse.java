@@ -1,6 +1,6 @@
 package com.buffer.domain.dto.response;
 
-import com.buffer.domain.entity.SocialMediaChannel;
+import com.buffer.domain.dto.common.ChannelDto;
 import lombok.Data;
 import lombok.Builder;
 
@@ -25,6 +25,6 @@ public class SessionDataResponse {
     private LocalDateTime createdAt;
     private int channelCount;
     private int totalIdeas;
-    private List<SocialMediaChannel> channels;
+    private List<ChannelDto> channels;
     private String message;
 }
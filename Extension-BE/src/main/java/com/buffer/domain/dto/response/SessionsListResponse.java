@@ -1,6 +1,7 @@
 package com.buffer.domain.dto.response;
 
-import com.buffer.domain.entity.AnalysisSession;
+import com.buffer.domain.dto.common.SessionSummaryDto;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Data;
 import lombok.Builder;
 
@@ -9,15 +10,19 @@ import java.util.List;
 /**
  * Sessions List Response DTO
  *
- * DTO representing a list of all analysis sessions in the system.
- * Contains the response status, total session count, and complete list of session
- * entities. Used by monitoring endpoints to provide an overview of all stored
- * content analysis sessions for administrative and debugging purposes.
+ * DTO representing one page of analysis sessions in the system, newest first.
+ * Contains the response status, the number of sessions on the page, lightweight
+ * session summaries, and the cursor to pass back for the next page (absent on the
+ * last page). Used by monitoring endpoints to provide an overview of stored content
+ * analysis sessions for administrative and debugging purposes.
  */
 @Data
 @Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class SessionsListResponse {
     private String status;
     private int sessionCount;
-    private List<AnalysisSession> sessions;
+    private List<SessionSummaryDto> sessions;
+    private String nextCursor;
+    private String message;
 }
@@ -0,0 +1,22 @@
+package com.buffer.domain.dto.response;
+
+import lombok.Data;
+import lombok.Builder;
+
+/**
+ * Virtual Thread Stats Response DTO
+ *
+ * DTO representing the virtual-thread execution mode and the carrier pinning observed
+ * while it is active. Used by monitoring endpoints to spot blocking code (such as
+ * synchronized JDBC driver paths) that defeats the benefit of virtual threads.
+ */
+@Data
+@Builder
+public class VirtualThreadStatsResponse {
+    private boolean enabled;
+    private boolean pinningMonitorActive;
+    private long pinningThresholdMillis;
+    private long pinnedEventCount;
+    private long maxPinnedMillis;
+    private String lastPinnedFrame;
+}
@@ -0,0 +1,30 @@
+package com.buffer.domain.dto.response;
+
+import lombok.Data;
+import lombok.Builder;
+
+import java.util.List;
+
+/**
+ * Write-Behind Stats Response DTO
+ *
+ * DTO representing the state of the write-behind session persistence queue. Contains the
+ * queue depth and capacity, how long the oldest queued session has waited, the size and lag
+ * of the last group commit, how many sessions were written or failed to be written, and the
+ * IDs of the most recent sessions that failed.
+ */
+@Data
+@Builder
+public class WriteBehindStatsResponse {
+    private boolean enabled;
+    private int queueDepth;
+    private int queueCapacity;
+    private int pendingCount;
+    private long oldestQueuedAgeMillis;
+    private long lastBatchSize;
+    private long lastBatchLagMillis;
+    private long batchesWritten;
+    private long sessionsWritten;
+    private long sessionsFailed;
+    private List<String> recentFailedSessionIds;
+}
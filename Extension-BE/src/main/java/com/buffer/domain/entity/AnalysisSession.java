@@ -22,7 +22,8 @@ import java.util.ArrayList;
  */
 
 @Entity
-@Table(name = "analysis_sessions")
+@Table(name = "analysis_sessions",
+       indexes = @Index(name = "idx_analysis_sessions_created_at", columnList = "created_at, sessionId"))
 @Data
 @Builder
 @NoArgsConstructor
@@ -31,7 +32,8 @@ public class AnalysisSession {
     @Id
     private String sessionId;
     
-    @Column(columnDefinition = "TEXT")
+    @Column(columnDefinition = "BLOB")
+    @Convert(converter = CompressedTextConverter.class)
     private String originalContent;
     
     @Column(length = 500)
@@ -44,7 +46,8 @@ public class AnalysisSession {
     private String url;
     
     @ElementCollection
-    @CollectionTable(name = "session_headings", joinColumns = @JoinColumn(name = "session_id"))
+    @CollectionTable(name = "session_headings", joinColumns = @JoinColumn(name = "session_id"),
+                     indexes = @Index(name = "idx_session_headings_session_id", columnList = "session_id"))
     @Column(name = "heading")
     private List<String> headings;
     
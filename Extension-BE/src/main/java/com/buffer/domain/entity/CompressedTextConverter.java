@@ -0,0 +1,117 @@
+package com.buffer.domain.entity;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Compressed Text Converter
+ *
+ * Stores large text attributes as BLOBs, deflate-compressed once they reach a size threshold,
+ * so page content takes a fraction of the database pages and every read of it does less I/O.
+ * The first byte tells the formats apart: PLAIN is followed by the UTF-8 text, DEFLATED by the
+ * text's UTF-8 length and the raw deflate stream. Values written as TEXT before this converter
+ * existed start with a printable character and are read back unchanged.
+ * Created by Hibernate through Spring, which supplies the settings.
+ */
+@Component
+@Converter
+public class CompressedTextConverter implements AttributeConverter<String, byte[]> {
+
+    private static final byte PLAIN = 0;
+    private static final byte DEFLATED = 1;
+    private static final int DEFLATED_HEADER_BYTES = 1 + Integer.BYTES;
+
+    private final boolean enabled;
+    private final int minBytes;
+    private final int level;
+
+    public CompressedTextConverter(@Value("${analysis.storage.compression.enabled:true}") boolean enabled,
+                                   @Value("${analysis.storage.compression.min-bytes:1024}") int minBytes,
+                                   @Value("${analysis.storage.compression.level:1}") int level) {
+        this.enabled = enabled;
+        this.minBytes = minBytes;
+        this.level = level;
+    }
+
+    @Override
+    public byte[] convertToDatabaseColumn(String attribute) {
+        if (attribute == null) {
+            return null;
+        }
+        byte[] text = attribute.getBytes(StandardCharsets.UTF_8);
+        if (enabled && text.length >= minBytes) {
+            byte[] deflated = deflate(text);
+            // Incompressible text is kept as it is
+            if (DEFLATED_HEADER_BYTES + deflated.length < text.length) {
+                return ByteBuffer.allocate(DEFLATED_HEADER_BYTES + deflated.length)
+                        .put(DEFLATED)
+                        .putInt(text.length)
+                        .put(deflated)
+                        .array();
+            }
+        }
+        return ByteBuffer.allocate(1 + text.length).put(PLAIN).put(text).array();
+    }
+
+    @Override
+    public String convertToEntityAttribute(byte[] column) {
+        if (column == null) {
+            return null;
+        }
+        if (column.length == 0) {
+            return "";
+        }
+        return switch (column[0]) {
+            case PLAIN -> new String(column, 1, column.length - 1, StandardCharsets.UTF_8);
+            case DEFLATED -> new String(inflate(column), StandardCharsets.UTF_8);
+            default -> new String(column, StandardCharsets.UTF_8);
+        };
+    }
+
+    private byte[] deflate(byte[] text) {
+        Deflater deflater = new Deflater(level, true);
+        try {
+            deflater.setInput(text);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(text.length / 2);
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] column) {
+        ByteBuffer header = ByteBuffer.wrap(column, 1, Integer.BYTES);
+        byte[] text = new byte[header.getInt()];
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setInput(column, DEFLATED_HEADER_BYTES, column.length - DEFLATED_HEADER_BYTES);
+            int length = 0;
+            while (length < text.length) {
+                int inflated = inflater.inflate(text, length, text.length - length);
+                if (inflated == 0 && (inflater.finished() || inflater.needsInput())) {
+                    throw new IllegalStateException("Truncated compressed text column");
+                }
+                length += inflated;
+            }
+            return text;
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupt compressed text column", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -9,6 +9,7 @@ import lombok.ToString;
 import lombok.EqualsAndHashCode;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -20,7 +21,8 @@ import java.util.List;
  * ready-to-implement content suggestions for social media strategies.
  */
 @Entity
-@Table(name = "content_ideas")
+@Table(name = "content_ideas",
+       indexes = @Index(name = "idx_content_ideas_channel_id", columnList = "channel_id"))
 @Data
 @Builder
 @NoArgsConstructor
@@ -35,19 +37,23 @@ public class ContentIdea {
     @EqualsAndHashCode.Exclude
     private SocialMediaChannel socialMediaChannel;
     
-    @Column(columnDefinition = "TEXT")
+    @Column(columnDefinition = "BLOB")
+    @Convert(converter = CompressedTextConverter.class)
     private String description;
     
-    @Column(columnDefinition = "TEXT")
+    @Column(columnDefinition = "BLOB")
+    @Convert(converter = CompressedTextConverter.class)
     private String rationale;
     
     @ElementCollection
-    @CollectionTable(name = "content_idea_pros", joinColumns = @JoinColumn(name = "idea_id"))
+    @CollectionTable(name = "content_idea_pros", joinColumns = @JoinColumn(name = "idea_id"),
+                     indexes = @Index(name = "idx_content_idea_pros_idea_id", columnList = "idea_id"))
     @Column(name = "pro")
     private List<String> pros;
     
     @ElementCollection
-    @CollectionTable(name = "content_idea_cons", joinColumns = @JoinColumn(name = "idea_id"))
+    @CollectionTable(name = "content_idea_cons", joinColumns = @JoinColumn(name = "idea_id"),
+                     indexes = @Index(name = "idx_content_idea_cons_idea_id", columnList = "idea_id"))
     @Column(name = "con")
     private List<String> cons;
     
@@ -60,8 +66,8 @@ public class ContentIdea {
                 .socialMediaChannel(socialMediaChannel)
                 .description(description)
                 .rationale(rationale)
-                .pros(pros)
-                .cons(cons)
+                .pros(pros != null ? new ArrayList<>(pros) : null)
+                .cons(cons != null ? new ArrayList<>(cons) : null)
                 .createdAt(LocalDateTime.now())
                 .build();
     }
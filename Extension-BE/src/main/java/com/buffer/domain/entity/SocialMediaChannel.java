@@ -23,7 +23,8 @@ import java.util.ArrayList;
  */
 
 @Entity
-@Table(name = "social_media_channels")
+@Table(name = "social_media_channels",
+       indexes = @Index(name = "idx_social_media_channels_session_id", columnList = "session_id"))
 @Data
 @Builder
 @NoArgsConstructor
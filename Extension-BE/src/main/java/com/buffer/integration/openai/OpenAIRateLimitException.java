@@ -0,0 +1,12 @@
+package com.buffer.integration.openai;
+
+/**
+ * Thrown when an OpenAI call is shed by the client-side rate limiter, either because the wait
+ * queue is full or because the call could not be admitted within the maximum wait.
+ */
+public class OpenAIRateLimitException extends RuntimeException {
+
+    public OpenAIRateLimitException(String message) {
+        super(message);
+    }
+}
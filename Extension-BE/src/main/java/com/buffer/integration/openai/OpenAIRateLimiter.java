@@ -0,0 +1,403 @@
+package com.buffer.integration.openai;
+
+import com.buffer.domain.dto.response.RateLimiterStatsResponse;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * OpenAI Rate Limiter
+ *
+ * Shared client-side admission control for every OpenAI call, applied as a WebClient filter.
+ * A call is admitted only when the requests-per-minute and tokens-per-minute token buckets
+ * both have room and fewer calls are in flight than the adaptive concurrency limit. The
+ * buckets are resized and drained from OpenAI's x-ratelimit-* response headers, so the local
+ * view follows the account's real budget. The concurrency limit grows additively on success
+ * and halves on a 429 (AIMD), and a 429 pauses admission until its retry-after has passed, so
+ * retries queue behind the limiter instead of amplifying each other. Calls that cannot be
+ * admitted wait in a bounded FIFO queue for a bounded time; beyond that they are shed with
+ * an OpenAIRateLimitException.
+ */
+@Slf4j
+@Component
+public class OpenAIRateLimiter {
+
+    // Request attribute carrying the estimated input + output tokens of a call
+    public static final String ESTIMATED_TOKENS_ATTRIBUTE = OpenAIRateLimiter.class.getName() + ".estimatedTokens";
+
+    private static final String HEADER_LIMIT_REQUESTS = "x-ratelimit-limit-requests";
+    private static final String HEADER_LIMIT_TOKENS = "x-ratelimit-limit-tokens";
+    private static final String HEADER_REMAINING_REQUESTS = "x-ratelimit-remaining-requests";
+    private static final String HEADER_REMAINING_TOKENS = "x-ratelimit-remaining-tokens";
+    private static final String HEADER_RESET_REQUESTS = "x-ratelimit-reset-requests";
+    private static final String HEADER_RESET_TOKENS = "x-ratelimit-reset-tokens";
+
+    // Durations in reset headers look like "20ms", "1s" or "6m0s"
+    private static final Pattern DURATION_PART = Pattern.compile("(\\d+(?:\\.\\d+)?)(ms|s|m|h)");
+    private static final long DEFAULT_BACKOFF_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final double DECREASE_FACTOR = 0.5;
+    private static final long NANOS_PER_MINUTE = TimeUnit.MINUTES.toNanos(1);
+
+    private static final String ERROR_QUEUE_FULL = "OpenAI rate limit queue is full, request rejected";
+    private static final String ERROR_WAIT_EXCEEDED = "Timed out waiting for OpenAI rate limit capacity";
+
+    private final boolean enabled;
+    private final int maxConcurrency;
+    private final int queueCapacity;
+    private final long maxWaitNanos;
+
+    // Guarded by this
+    private final TokenBucket requestBucket;
+    private final TokenBucket tokenBucket;
+    private final ArrayDeque<Waiter> waiters = new ArrayDeque<>();
+    private double concurrencyLimit;
+    private int inFlight;
+    private long blockedUntilNanos;
+    private boolean drainScheduled;
+
+    private final LongAdder admittedCount = new LongAdder();
+    private final LongAdder throttledCount = new LongAdder();
+    private final LongAdder shedCount = new LongAdder();
+
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "openai-rate-limiter");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public OpenAIRateLimiter(@Value("${openai.rate-limit.enabled:true}") boolean enabled,
+                             @Value("${openai.rate-limit.requests-per-minute:500}") long requestsPerMinute,
+                             @Value("${openai.rate-limit.tokens-per-minute:200000}") long tokensPerMinute,
+                             @Value("${openai.rate-limit.max-concurrency:16}") int maxConcurrency,
+                             @Value("${openai.rate-limit.queue-capacity:100}") int queueCapacity,
+                             @Value("${openai.rate-limit.max-wait-seconds:30}") long maxWaitSeconds) {
+        this.enabled = enabled;
+        this.maxConcurrency = maxConcurrency;
+        this.queueCapacity = queueCapacity;
+        this.maxWaitNanos = TimeUnit.SECONDS.toNanos(maxWaitSeconds);
+        this.requestBucket = new TokenBucket(requestsPerMinute);
+        this.tokenBucket = new TokenBucket(tokensPerMinute);
+        this.concurrencyLimit = maxConcurrency;
+    }
+
+    @PreDestroy
+    public void stop() {
+        timer.shutdownNow();
+    }
+
+    /**
+     * WebClient filter that admits each exchange through the limiter and feeds its response back
+     */
+    public ExchangeFilterFunction filter() {
+        return (request, next) -> {
+            if (!enabled) {
+                return next.exchange(request);
+            }
+            int estimatedTokens = request.attribute(ESTIMATED_TOKENS_ATTRIBUTE)
+                    .map(value -> ((Number) value).intValue())
+                    .orElse(0);
+
+            return acquire(estimatedTokens).flatMap(permit -> next.exchange(request)
+                    .map(response -> {
+                        permit.onResponse(response.statusCode(), response.headers().asHttpHeaders());
+                        // The call stays in flight until its body has been fully read
+                        return response.mutate()
+                                .body(body -> body.doFinally(signal -> permit.release()))
+                                .build();
+                    })
+                    .doOnError(error -> permit.release())
+                    .doOnCancel(permit::release));
+        };
+    }
+
+    /**
+     * Wait for capacity for a call of the given estimated size
+     */
+    public Mono<Permit> acquire(int estimatedTokens) {
+        return Mono.create(sink -> {
+            Waiter waiter = new Waiter(sink, estimatedTokens, System.nanoTime() + maxWaitNanos);
+            synchronized (this) {
+                if (waiters.size() >= queueCapacity) {
+                    shedCount.increment();
+                    sink.error(new OpenAIRateLimitException(ERROR_QUEUE_FULL));
+                    return;
+                }
+                waiters.addLast(waiter);
+            }
+            sink.onCancel(() -> cancel(waiter));
+            drain();
+        });
+    }
+
+    public RateLimiterStatsResponse getStats() {
+        synchronized (this) {
+            long now = System.nanoTime();
+            requestBucket.refill(now);
+            tokenBucket.refill(now);
+            return RateLimiterStatsResponse.builder()
+                    .enabled(enabled)
+                    .requestsPerMinute(requestBucket.capacity)
+                    .tokensPerMinute(tokenBucket.capacity)
+                    .availableRequests((long) requestBucket.available)
+                    .availableTokens((long) tokenBucket.available)
+                    .concurrencyLimit(concurrencyLimit)
+                    .inFlight(inFlight)
+                    .queued(waiters.size())
+                    .queueCapacity(queueCapacity)
+                    .admittedCount(admittedCount.sum())
+                    .throttledCount(throttledCount.sum())
+                    .shedCount(shedCount.sum())
+                    .blockedForMillis(Math.max(0, TimeUnit.NANOSECONDS.toMillis(blockedUntilNanos - now)))
+                    .build();
+        }
+    }
+
+    /**
+     * Admit queued calls in FIFO order while capacity allows, and time the next attempt
+     */
+    private void drain() {
+        List<Runnable> completions = new ArrayList<>();
+        long wakeInNanos = Long.MAX_VALUE;
+
+        synchronized (this) {
+            drainScheduled = false;
+            long now = System.nanoTime();
+
+            Iterator<Waiter> expired = waiters.iterator();
+            while (expired.hasNext()) {
+                Waiter waiter = expired.next();
+                if (waiter.deadlineNanos <= now) {
+                    expired.remove();
+                    shedCount.increment();
+                    completions.add(() -> waiter.sink.error(new OpenAIRateLimitException(ERROR_WAIT_EXCEEDED)));
+                }
+            }
+
+            requestBucket.refill(now);
+            tokenBucket.refill(now);
+            while (!waiters.isEmpty()) {
+                Waiter waiter = waiters.peekFirst();
+                long delay = admissionDelay(waiter, now);
+                if (delay > 0) {
+                    wakeInNanos = delay;
+                    break;
+                }
+                waiters.pollFirst();
+                requestBucket.take(1);
+                tokenBucket.take(tokenBucket.cost(waiter.estimatedTokens));
+                inFlight++;
+                admittedCount.increment();
+                waiter.permit = new Permit();
+                completions.add(() -> waiter.sink.success(waiter.permit));
+            }
+
+            for (Waiter waiter : waiters) {
+                wakeInNanos = Math.min(wakeInNanos, waiter.deadlineNanos - now);
+            }
+            // Calls waiting only for a free concurrency slot are woken by release()
+            if (wakeInNanos != Long.MAX_VALUE && !drainScheduled) {
+                drainScheduled = true;
+                timer.schedule(this::drain, Math.max(wakeInNanos, 1), TimeUnit.NANOSECONDS);
+            }
+        }
+
+        completions.forEach(Runnable::run);
+    }
+
+    /**
+     * Nanoseconds until this call could be admitted; 0 if it can be admitted now, MAX_VALUE if it waits for a slot
+     */
+    private long admissionDelay(Waiter waiter, long now) {
+        if (now < blockedUntilNanos) {
+            return blockedUntilNanos - now;
+        }
+        if (inFlight >= Math.max(1, (int) concurrencyLimit)) {
+            return Long.MAX_VALUE;
+        }
+        return Math.max(requestBucket.delayFor(1), tokenBucket.delayFor(tokenBucket.cost(waiter.estimatedTokens)));
+    }
+
+    private void cancel(Waiter waiter) {
+        boolean queued;
+        synchronized (this) {
+            queued = waiters.remove(waiter);
+        }
+        // Cancelled between admission and delivery: hand the slot back
+        if (!queued && waiter.permit != null) {
+            waiter.permit.release();
+        }
+    }
+
+    private synchronized void recordResponse(HttpStatusCode status, HttpHeaders headers) {
+        long now = System.nanoTime();
+        requestBucket.sync(now, headerLong(headers, HEADER_LIMIT_REQUESTS), headerLong(headers, HEADER_REMAINING_REQUESTS));
+        tokenBucket.sync(now, headerLong(headers, HEADER_LIMIT_TOKENS), headerLong(headers, HEADER_REMAINING_TOKENS));
+
+        if (status.value() == HttpStatus.TOO_MANY_REQUESTS.value()) {
+            throttledCount.increment();
+            concurrencyLimit = Math.max(1, concurrencyLimit * DECREASE_FACTOR);
+            blockedUntilNanos = Math.max(blockedUntilNanos, now + backoffNanos(headers));
+            log.warn("OpenAI rate limit hit; concurrency limit lowered to {} and admission paused for {} ms",
+                    (int) concurrencyLimit, TimeUnit.NANOSECONDS.toMillis(blockedUntilNanos - now));
+        } else if (status.is2xxSuccessful()) {
+            concurrencyLimit = Math.min(maxConcurrency, concurrencyLimit + 1 / concurrencyLimit);
+        }
+    }
+
+    private void release() {
+        synchronized (this) {
+            inFlight--;
+        }
+        drain();
+    }
+
+    /**
+     * Pause to apply after a 429: retry-after if given, else the reset time of the exhausted budget
+     */
+    private long backoffNanos(HttpHeaders headers) {
+        String retryAfter = headers.getFirst(HttpHeaders.RETRY_AFTER);
+        if (retryAfter != null) {
+            try {
+                return TimeUnit.MILLISECONDS.toNanos((long) (Double.parseDouble(retryAfter) * 1000));
+            } catch (NumberFormatException e) {
+                // HTTP-date form; fall through to the reset headers
+            }
+        }
+        long requestsReset = headerLong(headers, HEADER_REMAINING_REQUESTS) == 0 ? parseDuration(headers.getFirst(HEADER_RESET_REQUESTS)) : 0;
+        long tokensReset = headerLong(headers, HEADER_REMAINING_TOKENS) == 0 ? parseDuration(headers.getFirst(HEADER_RESET_TOKENS)) : 0;
+        long reset = Math.max(requestsReset, tokensReset);
+        return reset > 0 ? reset : DEFAULT_BACKOFF_NANOS;
+    }
+
+    private static long headerLong(HttpHeaders headers, String name) {
+        String value = headers.getFirst(name);
+        if (value == null) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    static long parseDuration(String value) {
+        if (value == null) {
+            return 0;
+        }
+        double nanos = 0;
+        Matcher matcher = DURATION_PART.matcher(value);
+        while (matcher.find()) {
+            double amount = Double.parseDouble(matcher.group(1));
+            nanos += switch (matcher.group(2)) {
+                case "ms" -> amount * 1e6;
+                case "s" -> amount * 1e9;
+                case "m" -> amount * 60e9;
+                default -> amount * 3600e9;
+            };
+        }
+        return (long) nanos;
+    }
+
+    /**
+     * Admission ticket for one call; released once the call has finished
+     */
+    public class Permit {
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        public void onResponse(HttpStatusCode status, HttpHeaders headers) {
+            recordResponse(status, headers);
+        }
+
+        public void release() {
+            if (released.compareAndSet(false, true)) {
+                OpenAIRateLimiter.this.release();
+            }
+        }
+    }
+
+    private static class Waiter {
+        final MonoSink<Permit> sink;
+        final int estimatedTokens;
+        final long deadlineNanos;
+        volatile Permit permit;
+
+        Waiter(MonoSink<Permit> sink, int estimatedTokens, long deadlineNanos) {
+            this.sink = sink;
+            this.estimatedTokens = estimatedTokens;
+            this.deadlineNanos = deadlineNanos;
+        }
+    }
+
+    /**
+     * Per-minute budget refilled continuously, resized from OpenAI's reported limit
+     */
+    private static class TokenBucket {
+        long capacity;
+        double available;
+        long lastRefillNanos;
+
+        TokenBucket(long capacity) {
+            this.capacity = capacity;
+            this.available = capacity;
+            this.lastRefillNanos = System.nanoTime();
+        }
+
+        void refill(long now) {
+            available = Math.min(capacity, available + (double) (now - lastRefillNanos) * capacity / NANOS_PER_MINUTE);
+            lastRefillNanos = now;
+        }
+
+        /**
+         * A call larger than the whole budget is admitted once the bucket is full
+         */
+        double cost(double amount) {
+            return Math.min(amount, capacity);
+        }
+
+        long delayFor(double amount) {
+            if (available >= amount) {
+                return 0;
+            }
+            return (long) Math.ceil((amount - available) * NANOS_PER_MINUTE / capacity);
+        }
+
+        void take(double amount) {
+            available -= amount;
+        }
+
+        /**
+         * Adopt the limit OpenAI reports and never assume more remains than it says
+         */
+        void sync(long now, long limit, long remaining) {
+            refill(now);
+            if (limit > 0) {
+                capacity = limit;
+            }
+            if (remaining >= 0) {
+                available = Math.min(available, remaining);
+            }
+        }
+    }
+}
@@ -0,0 +1,277 @@
+package com.buffer.integration.openai;
+
+import com.buffer.domain.dto.response.HedgingStatsResponse;
+import com.buffer.service.metrics.AnalysisMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.publisher.Operators;
+import reactor.util.context.Context;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * OpenAI Request Hedger
+ *
+ * Cuts the latency tail of OpenAI calls by hedging: when an attempt has not answered within the
+ * configured percentile of recent attempt latencies for its operation, a duplicate attempt is
+ * started and whichever answers first is used; the other is cancelled. A failure of one attempt
+ * is only surfaced once the other has failed too. Hedges are paid from a budget that grows by
+ * max-hedge-percent of every call, so they never exceed that share of traffic, and no call is
+ * hedged until its operation has min-samples latencies to derive the delay from. Hedges go
+ * through the rate limiter like any other call.
+ */
+@Component
+public class OpenAIRequestHedger {
+
+    public static final String OUTCOME_FIRED = "fired";
+    public static final String OUTCOME_WON = "won";
+    public static final String OUTCOME_DENIED = "denied";
+
+    // Hedges the budget can save up while traffic is fast, per percent of max-hedge-percent
+    private static final double BURST_PER_PERCENT = 1.0;
+
+    private final boolean enabled;
+    private final double percentile;
+    private final long minDelayNanos;
+    private final double creditPerCall;
+    private final double maxCredits;
+    private final int windowSize;
+    private final int minSamples;
+    private final AnalysisMetrics metrics;
+
+    private final Map<String, LatencyWindow> windows = new ConcurrentHashMap<>();
+
+    // Guarded by this
+    private double credits;
+
+    private final LongAdder callCount = new LongAdder();
+    private final LongAdder firedCount = new LongAdder();
+    private final LongAdder wonCount = new LongAdder();
+    private final LongAdder deniedCount = new LongAdder();
+
+    public OpenAIRequestHedger(@Value("${openai.hedging.enabled:false}") boolean enabled,
+                               @Value("${openai.hedging.percentile:95}") double percentile,
+                               @Value("${openai.hedging.min-delay-ms:1000}") long minDelayMillis,
+                               @Value("${openai.hedging.max-hedge-percent:5}") double maxHedgePercent,
+                               @Value("${openai.hedging.window-size:200}") int windowSize,
+                               @Value("${openai.hedging.min-samples:20}") int minSamples,
+                               AnalysisMetrics metrics) {
+        this.enabled = enabled;
+        this.percentile = percentile;
+        this.minDelayNanos = TimeUnit.MILLISECONDS.toNanos(minDelayMillis);
+        this.creditPerCall = maxHedgePercent / 100.0;
+        this.maxCredits = Math.max(1.0, maxHedgePercent * BURST_PER_PERCENT);
+        this.windowSize = windowSize;
+        this.minSamples = minSamples;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Run an attempt, hedged with a second one if it is slow. The supplier is called once per attempt.
+     * Values of a losing attempt that arrive after the winner are handed to the discard hook.
+     */
+    public <T> Mono<T> hedge(String operation, Supplier<Mono<T>> attempt) {
+        if (!enabled) {
+            return attempt.get();
+        }
+        return Mono.defer(() -> {
+            LatencyWindow window = windows.computeIfAbsent(operation, key -> new LatencyWindow(windowSize));
+            callCount.increment();
+            synchronized (this) {
+                credits = Math.min(maxCredits, credits + creditPerCall);
+            }
+            long delayNanos = window.hedgeDelayNanos();
+            if (delayNanos < 0) {
+                return timed(attempt, window);
+            }
+            return Mono.<T>create(sink -> new HedgedCall<>(sink, attempt, window).start(delayNanos));
+        });
+    }
+
+    public HedgingStatsResponse getStats() {
+        Map<String, Long> delays = new TreeMap<>();
+        windows.forEach((operation, window) -> {
+            long delayNanos = window.hedgeDelayNanos();
+            delays.put(operation, delayNanos < 0 ? null : TimeUnit.NANOSECONDS.toMillis(delayNanos));
+        });
+        long calls = callCount.sum();
+        long fired = firedCount.sum();
+        double available;
+        synchronized (this) {
+            available = credits;
+        }
+        return HedgingStatsResponse.builder()
+                .enabled(enabled)
+                .percentile(percentile)
+                .maxHedgePercent(creditPerCall * 100)
+                .hedgeDelayMillis(delays)
+                .callCount(calls)
+                .hedgeCount(fired)
+                .hedgeWonCount(wonCount.sum())
+                .hedgeDeniedCount(deniedCount.sum())
+                .hedgePercent(calls > 0 ? 100.0 * fired / calls : 0.0)
+                .availableHedges((long) available)
+                .build();
+    }
+
+    private <T> Mono<T> timed(Supplier<Mono<T>> attempt, LatencyWindow window) {
+        return Mono.defer(() -> {
+            long startNanos = System.nanoTime();
+            return attempt.get().doOnSuccess(value -> window.record(System.nanoTime() - startNanos));
+        });
+    }
+
+    private synchronized boolean tryTakeCredit() {
+        if (credits < 1.0) {
+            return false;
+        }
+        credits -= 1.0;
+        return true;
+    }
+
+    private synchronized void refundCredit() {
+        credits = Math.min(maxCredits, credits + 1.0);
+    }
+
+    /**
+     * A primary attempt racing the hedge started after the delay, settled by the first to answer
+     */
+    private final class HedgedCall<T> {
+
+        private final MonoSink<T> sink;
+        private final Supplier<Mono<T>> attempt;
+        private final LatencyWindow window;
+        private final long startNanos = System.nanoTime();
+        private final AtomicBoolean settled = new AtomicBoolean();
+        // Attempts that have neither answered nor failed; the call fails when the last one fails
+        private final AtomicInteger inFlight = new AtomicInteger(1);
+        private final Disposable.Composite running = Disposables.composite();
+
+        HedgedCall(MonoSink<T> sink, Supplier<Mono<T>> attempt, LatencyWindow window) {
+            this.sink = sink;
+            this.attempt = attempt;
+            this.window = window;
+        }
+
+        void start(long delayNanos) {
+            // Settling, cancelling or failing the call cancels whatever is still running
+            sink.onDispose(running);
+            running.add(nextAttempt().subscribe(
+                    value -> settle(value, startNanos, false),
+                    this::fail,
+                    () -> settle(null, startNanos, false)));
+            running.add(Mono.delay(Duration.ofNanos(delayNanos)).subscribe(tick -> startHedge()));
+        }
+
+        /**
+         * An attempt subscribed with the caller's context, so its hooks (e.g. discard) apply to both attempts
+         */
+        private Mono<T> nextAttempt() {
+            return attempt.get().contextWrite(sink.contextView());
+        }
+
+        private void startHedge() {
+            if (settled.get()) {
+                return;
+            }
+            if (!tryTakeCredit()) {
+                deniedCount.increment();
+                metrics.recordHedge(OUTCOME_DENIED);
+                return;
+            }
+            int current;
+            do {
+                current = inFlight.get();
+                if (current == 0) {
+                    refundCredit();
+                    return;
+                }
+            } while (!inFlight.compareAndSet(current, current + 1));
+
+            firedCount.increment();
+            metrics.recordHedge(OUTCOME_FIRED);
+            long hedgeStartNanos = System.nanoTime();
+            running.add(nextAttempt().subscribe(
+                    value -> settle(value, hedgeStartNanos, true),
+                    this::fail,
+                    () -> settle(null, hedgeStartNanos, true)));
+        }
+
+        private void settle(T value, long attemptStartNanos, boolean hedge) {
+            if (!settled.compareAndSet(false, true)) {
+                if (value != null) {
+                    Operators.onDiscard(value, Context.of(sink.contextView()));
+                }
+                return;
+            }
+            long now = System.nanoTime();
+            window.record(now - attemptStartNanos);
+            if (hedge) {
+                wonCount.increment();
+                metrics.recordHedge(OUTCOME_WON);
+                // The cancelled primary took at least this long; leaving it out would pull the percentile down
+                window.record(now - startNanos);
+            }
+            if (value == null) {
+                sink.success();
+            } else {
+                sink.success(value);
+            }
+        }
+
+        private void fail(Throwable error) {
+            if (inFlight.decrementAndGet() == 0 && settled.compareAndSet(false, true)) {
+                sink.error(error);
+            }
+        }
+    }
+
+    /**
+     * Latencies of the most recent successful attempts of one operation
+     */
+    private final class LatencyWindow {
+
+        private final long[] samples;
+        private int next;
+        private int size;
+
+        LatencyWindow(int capacity) {
+            this.samples = new long[capacity];
+        }
+
+        synchronized void record(long nanos) {
+            samples[next] = nanos;
+            next = (next + 1) % samples.length;
+            size = Math.min(size + 1, samples.length);
+        }
+
+        /**
+         * The configured percentile of recent latencies, at least min-delay, or -1 with too few samples
+         */
+        long hedgeDelayNanos() {
+            long[] sorted;
+            synchronized (this) {
+                if (size < minSamples) {
+                    return -1;
+                }
+                sorted = Arrays.copyOf(samples, size);
+            }
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+            return Math.max(minDelayNanos, sorted[Math.max(0, Math.min(index, sorted.length - 1))]);
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package com.buffer.integration.openai;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Single-pass reader for OpenAI Responses API payloads.
+ *
+ * Walks the response envelope token by token straight from the HTTP body and hands every
+ * output text part to a StreamingAnalysisParser in place, using the parser's own character
+ * buffer. The envelope is never materialized as a Map and the output text is never copied
+ * into an intermediate String. Supports both the item-level { content: [...] } shape and the
+ * older { message: { content: [...] } } shape, with text given directly or as { value }.
+ * Plain-text responses, such as chunk summaries, are collected as text instead.
+ *
+ * A structured answer normally arrives as one output text part and is parsed in place. If a
+ * part ends before the document does and more parts follow, the parts are joined and parsed
+ * again as one document, as the model's output is split across them.
+ */
+@Slf4j
+public class ResponsesPayloadReader {
+
+    private static final String FIELD_OUTPUT = "output";
+    private static final String FIELD_MESSAGE = "message";
+    private static final String FIELD_CONTENT = "content";
+    private static final String FIELD_TEXT = "text";
+    private static final String FIELD_VALUE = "value";
+    private static final String FIELD_STATUS = "status";
+    private static final String FIELD_ERROR = "error";
+    private static final String FIELD_USAGE = "usage";
+    private static final String FIELD_INPUT_TOKENS = "input_tokens";
+    private static final String FIELD_OUTPUT_TOKENS = "output_tokens";
+
+    private static final int PLAIN_TEXT_PREVIEW_LENGTH = 200;
+
+    private final ObjectMapper objectMapper;
+
+    public ResponsesPayloadReader(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Envelope details needed to explain a response that carried no usable output
+     */
+    @Getter
+    public static class Envelope {
+        private String status;
+        private String error;
+        private boolean outputFound;
+        private String plainTextPreview;
+        private StringBuilder text;
+        private long inputTokens;
+        private long outputTokens;
+        // Structured output parts kept for rejoining, once a part ended inside the document
+        @Getter(AccessLevel.NONE)
+        private StringBuilder pendingOutput;
+        @Getter(AccessLevel.NONE)
+        private int pendingParts;
+
+        public boolean isPlainText() {
+            return plainTextPreview != null;
+        }
+
+        public String getText() {
+            return text != null ? text.toString() : null;
+        }
+    }
+
+    /**
+     * Read a plain-text payload, collecting its output text into the envelope
+     */
+    public Envelope read(InputStream body) throws IOException {
+        return read(body, null);
+    }
+
+    /**
+     * Read the payload, feeding any structured output text into the given analysis parser,
+     * or collecting it as text when no parser is given
+     */
+    public Envelope read(InputStream body, StreamingAnalysisParser analysisParser) throws IOException {
+        Envelope envelope = new Envelope();
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return envelope;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+
+                if (FIELD_OUTPUT.equals(field) && value == JsonToken.START_ARRAY) {
+                    readOutput(parser, envelope, analysisParser);
+                } else if (FIELD_STATUS.equals(field) && value == JsonToken.VALUE_STRING) {
+                    envelope.status = parser.getText();
+                } else if (FIELD_ERROR.equals(field) && value == JsonToken.START_OBJECT) {
+                    // Only present on failed responses, so the small tree is not on the hot path
+                    envelope.error = parser.readValueAsTree().toString();
+                } else if (FIELD_USAGE.equals(field) && value == JsonToken.START_OBJECT) {
+                    readUsage(parser, envelope);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+        if (envelope.pendingParts > 1) {
+            log.debug("Structured output was split across {} parts, parsing them as one document", envelope.pendingParts);
+            analysisParser.reset();
+            try (JsonParser outputParser = objectMapper.getFactory().createParser(envelope.pendingOutput.toString())) {
+                analysisParser.consume(outputParser);
+            }
+        }
+        return envelope;
+    }
+
+    private void readUsage(JsonParser parser, Envelope envelope) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+
+            if (FIELD_INPUT_TOKENS.equals(field) && value == JsonToken.VALUE_NUMBER_INT) {
+                envelope.inputTokens = parser.getLongValue();
+            } else if (FIELD_OUTPUT_TOKENS.equals(field) && value == JsonToken.VALUE_NUMBER_INT) {
+                envelope.outputTokens = parser.getLongValue();
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    private void readOutput(JsonParser parser, Envelope envelope, StreamingAnalysisParser analysisParser) throws IOException {
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            if (parser.currentToken() == JsonToken.START_OBJECT) {
+                readOutputItem(parser, envelope, analysisParser);
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    /**
+     * Read an output item; a nested message object has the same content layout
+     */
+    private void readOutputItem(JsonParser parser, Envelope envelope, StreamingAnalysisParser analysisParser) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+
+            if (FIELD_CONTENT.equals(field) && value == JsonToken.START_ARRAY) {
+                readContentParts(parser, envelope, analysisParser);
+            } else if (FIELD_MESSAGE.equals(field) && value == JsonToken.START_OBJECT) {
+                readOutputItem(parser, envelope, analysisParser);
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    private void readContentParts(JsonParser parser, Envelope envelope, StreamingAnalysisParser analysisParser) throws IOException {
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            if (parser.currentToken() != JsonToken.START_OBJECT) {
+                parser.skipChildren();
+                continue;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+
+                if (FIELD_TEXT.equals(field) && value == JsonToken.VALUE_STRING) {
+                    readOutputText(parser, envelope, analysisParser);
+                } else if (FIELD_TEXT.equals(field) && value == JsonToken.START_OBJECT) {
+                    readTextValue(parser, envelope, analysisParser);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+    }
+
+    private void readTextValue(JsonParser parser, Envelope envelope, StreamingAnalysisParser analysisParser) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+
+            if (FIELD_VALUE.equals(field) && value == JsonToken.VALUE_STRING) {
+                readOutputText(parser, envelope, analysisParser);
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    /**
+     * Parse the current string token as structured output directly from the envelope parser's buffer
+     */
+    private void readOutputText(JsonParser parser, Envelope envelope, StreamingAnalysisParser analysisParser) throws IOException {
+        char[] text = parser.getTextCharacters();
+        int offset = parser.getTextOffset();
+        int length = parser.getTextLength();
+
+        int start = offset;
+        int end = offset + length;
+        while (start < end && Character.isWhitespace(text[start])) {
+            start++;
+        }
+        if (start == end) {
+            return;
+        }
+        envelope.outputFound = true;
+
+        if (analysisParser == null) {
+            if (envelope.text == null) {
+                envelope.text = new StringBuilder(length);
+            }
+            envelope.text.append(text, offset, length);
+            return;
+        }
+
+        // A part that continues an unfinished document is joined to it, whatever it starts with
+        if (envelope.pendingOutput != null) {
+            envelope.pendingOutput.append(text, offset, length);
+            envelope.pendingParts++;
+            return;
+        }
+        if (analysisParser.isComplete()) {
+            log.warn("Ignoring output text part after the complete structured output");
+            return;
+        }
+        if (text[start] != '{') {
+            envelope.plainTextPreview = new String(text, start, Math.min(end - start, PLAIN_TEXT_PREVIEW_LENGTH));
+            return;
+        }
+
+        try (JsonParser outputParser = objectMapper.getFactory().createParser(text, start, end - start)) {
+            analysisParser.consume(outputParser);
+        }
+        if (!analysisParser.isComplete()) {
+            // Usually a truncated answer, but further parts may carry the rest of the document
+            envelope.pendingOutput = new StringBuilder(length).append(text, start, end - start);
+            envelope.pendingParts = 1;
+        }
+    }
+}
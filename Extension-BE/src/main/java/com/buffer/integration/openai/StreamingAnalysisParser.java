@@ -0,0 +1,257 @@
+package com.buffer.integration.openai;
+
+import com.buffer.domain.dto.common.IdeaDetailDto;
+import com.buffer.domain.dto.response.OpenAIAnalysisDto;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.core.io.JsonEOFException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Incremental parser for the structured analysis output.
+ *
+ * Accepts the model's JSON output in arbitrary chunks as it is generated and reports the
+ * summary and every idea as soon as its JSON object is complete, without waiting for the
+ * rest of the document. Built on Jackson's non-blocking parser, so no chunk is ever
+ * re-scanned. The same token handling can be driven by any JsonParser via consume(), which
+ * is how complete (non-streamed) responses are parsed in a single pass. The assembled
+ * OpenAIAnalysisDto is available once the root object closes; a document that ends early
+ * is reported with the exact offset where the output stopped.
+ */
+public class StreamingAnalysisParser {
+
+    /**
+     * Receives analysis elements as soon as they are fully parsed
+     */
+    public interface Listener {
+        default void onSummary(String summary) {}
+
+        default void onIdea(String channel, IdeaDetailDto idea) {}
+    }
+
+    // Container depths of the known structure: {root} -> {channels} -> [ideas] -> {idea}
+    private static final int ROOT_DEPTH = 1;
+    private static final int CHANNELS_DEPTH = 2;
+    private static final int IDEAS_DEPTH = 3;
+
+    private static final Listener NO_LISTENER = new Listener() {};
+
+    private final ObjectMapper objectMapper;
+    private final Listener listener;
+    private JsonParser parser;
+    private ByteArrayFeeder feeder;
+
+    private int depth;
+    private String rootField;
+    private String currentChannel;
+    private boolean inChannels;
+    private TokenBuffer ideaBuffer;
+    private int ideaDepth;
+    private boolean complete;
+    private long truncatedAt = -1;
+
+    private String status;
+    private String summary;
+    private final Map<String, List<IdeaDetailDto>> channels = new LinkedHashMap<>();
+
+    public StreamingAnalysisParser(ObjectMapper objectMapper, Listener listener) {
+        this.objectMapper = objectMapper;
+        this.listener = listener;
+    }
+
+    public StreamingAnalysisParser(ObjectMapper objectMapper) {
+        this(objectMapper, NO_LISTENER);
+    }
+
+    /**
+     * Feed the next chunk of model output and report every element it completes
+     */
+    public void feed(String chunk) throws IOException {
+        if (feeder == null) {
+            parser = objectMapper.getFactory().createNonBlockingByteArrayParser();
+            feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+        }
+        byte[] bytes = chunk.getBytes(StandardCharsets.UTF_8);
+        feeder.feedInput(bytes, 0, bytes.length);
+        drain();
+    }
+
+    /**
+     * Read the whole document from a blocking parser in one pass. Running out of input inside
+     * the document is recorded as truncation and reported by finish().
+     */
+    public void consume(JsonParser source) throws IOException {
+        parser = source;
+        try {
+            JsonToken token;
+            while (!complete && (token = parser.nextToken()) != null) {
+                handle(token);
+            }
+        } catch (JsonEOFException e) {
+            truncatedAt = e.getLocation().getCharOffset();
+        }
+    }
+
+    /**
+     * Signal end of output and return the assembled analysis
+     * @throws TruncatedAnalysisException if the output ended before the root object was closed
+     */
+    public OpenAIAnalysisDto finish() throws IOException {
+        if (feeder != null) {
+            feeder.endOfInput();
+            try {
+                drain();
+            } catch (IOException e) {
+                if (!complete) {
+                    throw truncated(parser.currentLocation().getByteOffset());
+                }
+                throw e;
+            }
+        }
+        if (!complete) {
+            throw truncated(truncatedAt >= 0 ? truncatedAt : currentOffset());
+        }
+        return OpenAIAnalysisDto.builder()
+                .status(status)
+                .summary(summary)
+                .channels(channels)
+                .build();
+    }
+
+    public boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * Discard everything parsed so far, to parse the document again from its start. Elements
+     * already reported to the listener are reported again.
+     */
+    public void reset() {
+        parser = null;
+        feeder = null;
+        depth = 0;
+        rootField = null;
+        currentChannel = null;
+        inChannels = false;
+        ideaBuffer = null;
+        ideaDepth = 0;
+        complete = false;
+        truncatedAt = -1;
+        status = null;
+        summary = null;
+        channels.clear();
+    }
+
+    private void drain() throws IOException {
+        JsonToken token;
+        while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+            handle(token);
+        }
+    }
+
+    private void handle(JsonToken token) throws IOException {
+        if (ideaBuffer != null) {
+            bufferIdeaToken(token);
+            return;
+        }
+
+        switch (token) {
+            case START_OBJECT:
+                if (depth == IDEAS_DEPTH && inChannels) {
+                    ideaBuffer = new TokenBuffer(objectMapper, false);
+                    ideaDepth = 0;
+                    bufferIdeaToken(token);
+                    return;
+                }
+                if (depth == ROOT_DEPTH && OpenAIAnalysisDto.FIELD_CHANNELS.equals(rootField)) {
+                    inChannels = true;
+                }
+                depth++;
+                break;
+            case START_ARRAY:
+                if (depth == CHANNELS_DEPTH && inChannels) {
+                    channels.computeIfAbsent(currentChannel, key -> new ArrayList<>());
+                }
+                depth++;
+                break;
+            case END_OBJECT:
+            case END_ARRAY:
+                depth--;
+                if (depth == ROOT_DEPTH) {
+                    inChannels = false;
+                } else if (depth == 0) {
+                    complete = true;
+                }
+                break;
+            case FIELD_NAME:
+                if (depth == ROOT_DEPTH) {
+                    rootField = parser.currentName();
+                } else if (depth == CHANNELS_DEPTH && inChannels) {
+                    currentChannel = parser.currentName();
+                }
+                break;
+            case VALUE_STRING:
+                if (depth == ROOT_DEPTH) {
+                    handleRootString(parser.getText());
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void handleRootString(String value) {
+        if (OpenAIAnalysisDto.FIELD_STATUS.equals(rootField)) {
+            status = value;
+        } else if (OpenAIAnalysisDto.FIELD_SUMMARY.equals(rootField)) {
+            summary = value;
+            listener.onSummary(value);
+        }
+    }
+
+    private void bufferIdeaToken(JsonToken token) throws IOException {
+        ideaBuffer.copyCurrentEvent(parser);
+        if (token == JsonToken.START_OBJECT || token == JsonToken.START_ARRAY) {
+            ideaDepth++;
+        } else if (token == JsonToken.END_OBJECT || token == JsonToken.END_ARRAY) {
+            ideaDepth--;
+            if (ideaDepth == 0) {
+                completeIdea();
+            }
+        }
+    }
+
+    private void completeIdea() throws IOException {
+        IdeaDetailDto idea;
+        try (JsonParser ideaParser = ideaBuffer.asParser()) {
+            idea = objectMapper.readValue(ideaParser, IdeaDetailDto.class);
+        }
+        ideaBuffer = null;
+
+        idea.setChannel(currentChannel);
+        channels.get(currentChannel).add(idea);
+        listener.onIdea(currentChannel, idea);
+    }
+
+    private long currentOffset() {
+        if (parser == null) {
+            return 0;
+        }
+        long byteOffset = parser.currentLocation().getByteOffset();
+        return byteOffset >= 0 ? byteOffset : parser.currentLocation().getCharOffset();
+    }
+
+    private TruncatedAnalysisException truncated(long offset) {
+        int ideas = channels.values().stream().mapToInt(List::size).sum();
+        return new TruncatedAnalysisException(offset, depth + (ideaBuffer != null ? ideaDepth : 0), ideas);
+    }
+}
@@ -0,0 +1,69 @@
+package com.buffer.integration.openai;
+
+import com.buffer.web.config.AIConstants;
+import com.knuddels.jtokkit.Encodings;
+import com.knuddels.jtokkit.api.Encoding;
+import com.knuddels.jtokkit.api.EncodingRegistry;
+import com.knuddels.jtokkit.api.EncodingResult;
+import com.knuddels.jtokkit.api.EncodingType;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Local token counter for the configured OpenAI model.
+ *
+ * Uses the model's BPE vocabulary (o200k_base for the gpt-4o family) bundled with jtokkit, so
+ * token budgets are measured exactly and without any network call. Text is encoded as ordinary
+ * text: special-token markers that appear in page content are counted as plain characters.
+ */
+@Component
+public class TokenCounter {
+
+    private final Encoding encoding;
+
+    public TokenCounter() {
+        EncodingRegistry registry = Encodings.newLazyEncodingRegistry();
+        this.encoding = registry.getEncodingForModel(AIConstants.OPENAI_MODEL)
+                .orElseGet(() -> registry.getEncoding(EncodingType.O200K_BASE));
+    }
+
+    public int count(String text) {
+        if (text == null || text.isEmpty()) {
+            return 0;
+        }
+        return encoding.countTokensOrdinary(text);
+    }
+
+    /**
+     * Cut text to its first maxTokens tokens, on a token boundary; text that fits is returned unchanged
+     */
+    public String truncate(String text, int maxTokens) {
+        if (text == null || text.isEmpty()) {
+            return text;
+        }
+        EncodingResult result = encoding.encodeOrdinary(text, maxTokens);
+        return result.isTruncated() ? text.substring(0, result.getLastProcessedCharacterIndex() + 1) : text;
+    }
+
+    /**
+     * Split text into consecutive pieces of at most maxTokens tokens each, cutting on token boundaries
+     */
+    public List<String> split(String text, int maxTokens) {
+        List<String> pieces = new ArrayList<>();
+        String rest = text;
+        while (!rest.isEmpty()) {
+            EncodingResult result = encoding.encodeOrdinary(rest, maxTokens);
+            if (!result.isTruncated()) {
+                pieces.add(rest);
+                break;
+            }
+            // Always advance, even if a single token spans more characters than fit
+            int end = Math.max(result.getLastProcessedCharacterIndex() + 1, 1);
+            pieces.add(rest.substring(0, end));
+            rest = rest.substring(end);
+        }
+        return pieces;
+    }
+}
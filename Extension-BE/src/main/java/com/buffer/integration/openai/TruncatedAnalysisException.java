@@ -0,0 +1,34 @@
+package com.buffer.integration.openai;
+
+import java.io.IOException;
+
+/**
+ * Thrown when the model's structured output ends before the JSON document is complete,
+ * typically because generation stopped at the output token limit.
+ */
+public class TruncatedAnalysisException extends IOException {
+
+    private final long offset;
+    private final int openContainers;
+    private final int completeIdeas;
+
+    public TruncatedAnalysisException(long offset, int openContainers, int completeIdeas) {
+        super("Structured output truncated at offset " + offset + " with " + openContainers +
+              " unclosed JSON container(s) after " + completeIdeas + " complete idea(s)");
+        this.offset = offset;
+        this.openContainers = openContainers;
+        this.completeIdeas = completeIdeas;
+    }
+
+    public long getOffset() {
+        return offset;
+    }
+
+    public int getOpenContainers() {
+        return openContainers;
+    }
+
+    public int getCompleteIdeas() {
+        return completeIdeas;
+    }
+}
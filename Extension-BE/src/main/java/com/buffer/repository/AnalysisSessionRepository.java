@@ -1,6 +1,10 @@
 package com.buffer.repository;
 
+import com.buffer.domain.dto.common.SessionSummaryDto;
+import com.buffer.domain.dto.common.StorageStatsDto;
 import com.buffer.domain.entity.AnalysisSession;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -9,12 +13,26 @@ import java.util.List;
  */
 public interface AnalysisSessionRepository {
     
+    /**
+     * Qualifier of the storage backend selected by analysis.storage.backend, which the
+     * primary repository delegates to
+     */
+    String STORAGE_BACKEND = "analysisSessionStorageBackend";
+    
     /**
      * Store a complete analysis session with all associated channels and ideas
      * @param session The analysis session to store
      */
     void storeSession(AnalysisSession session);
     
+    /**
+     * Store several complete analysis sessions, as one write where the implementation supports it
+     * @param sessions The analysis sessions to store
+     */
+    default void storeSessions(List<AnalysisSession> sessions) {
+        sessions.forEach(this::storeSession);
+    }
+    
     /**
      * Retrieve an analysis session by its ID
      * @param sessionId The unique session identifier
@@ -23,9 +41,52 @@ public interface AnalysisSessionRepository {
     AnalysisSession getSession(String sessionId);
     
     /**
-     * Get all stored analysis sessions
-     * @return List of all sessions (useful for monitoring/admin purposes)
+     * Get one page of session summaries, newest first, without loading session content
+     * @param after Position of the last summary of the previous page, or null for the first page
+     * @param limit Maximum number of summaries to return
+     * @return Up to limit summaries following the given position
+     */
+    List<SessionSummaryDto> getSessionSummaries(SessionCursor after, int limit);
+    
+    /**
+     * Get the stored page content of a session
+     * @param sessionId The unique session identifier
+     * @return The original content, or null if not found
+     */
+    String getSessionContent(String sessionId);
+    
+    /**
+     * Get aggregate counts and storage size without loading any session
+     * @return Current storage statistics (useful for monitoring/admin purposes)
      */
-    List<AnalysisSession> getAllSessions();
+    StorageStatsDto getStorageStats();
+    
+    /**
+     * Find the oldest sessions created before a point in time
+     * @param cutoff Only sessions created before this are returned
+     * @param limit Maximum number of session IDs to return
+     * @return Session IDs, the oldest first
+     */
+    List<String> getSessionIdsCreatedBefore(LocalDateTime cutoff, int limit);
+    
+    /**
+     * Delete sessions with all their channels and ideas
+     * @param sessionIds The sessions to delete; unknown IDs are ignored
+     */
+    void deleteSessions(Collection<String> sessionIds);
+    
+    /**
+     * Drop the stored page content of the oldest sessions created before a point in time,
+     * keeping their summaries and ideas
+     * @param cutoff Only sessions created before this are affected
+     * @param limit Maximum number of sessions to change
+     * @return Number of sessions whose content was dropped; 0 once none are left
+     */
+    int dropSessionContent(LocalDateTime cutoff, int limit);
+    
+    /**
+     * Return space freed by deleted data to the file system where the storage supports it
+     * @return Number of bytes reclaimed
+     */
+    long reclaimSpace();
 }
-
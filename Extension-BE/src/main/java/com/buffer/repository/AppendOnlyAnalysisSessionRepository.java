@@ -0,0 +1,524 @@
+package com.buffer.repository;
+
+import com.buffer.domain.dto.common.SessionSummaryDto;
+import com.buffer.domain.dto.common.StorageStatsDto;
+import com.buffer.domain.entity.AnalysisSession;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only file implementation of AnalysisSessionRepository.
+ * Each session is stored as one JSON document record appended to a single file, so storing a
+ * whole analysis is one sequential write. An in-memory index maps session IDs to record offsets
+ * and keeps the summaries for listings; records are read through a memory mapping of the file,
+ * except the newest ones, appended since it was last mapped, which are read from the channel.
+ * The index is rebuilt by scanning the file on startup, where a torn record at the end (from a
+ * crash mid-write) is detected by its CRC and cut off. Records replaced by a later store of the
+ * same session, and deleted sessions with the tombstone records marking their deletion, are
+ * garbage that a periodic compaction rewrites away.
+ * Selected with analysis.storage.backend=append-only.
+ */
+@Slf4j
+@Component
+@Qualifier(AnalysisSessionRepository.STORAGE_BACKEND)
+@ConditionalOnProperty(name = "analysis.storage.backend", havingValue = "append-only")
+public class AppendOnlyAnalysisSessionRepository implements AnalysisSessionRepository {
+
+    // Record layout: payload length, CRC32 of type and payload, record type, payload
+    private static final int HEADER_BYTES = Integer.BYTES + Integer.BYTES + 1;
+    // Payload is the session document as JSON
+    private static final byte SESSION_RECORD = 1;
+    // Payload is the ID of a deleted session
+    private static final byte TOMBSTONE_RECORD = 2;
+    private static final String COMPACTION_SUFFIX = ".compact";
+    // Records appended after the mapping are read with positional reads until the file has grown this much
+    private static final long REMAP_GROWTH_BYTES = 64L * 1024 * 1024;
+
+    private static final Comparator<SessionCursor> NEWEST_FIRST = Comparator
+            .comparing(SessionCursor::createdAt, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(SessionCursor::sessionId)
+            .reversed();
+
+    private final Path path;
+    private final boolean syncOnWrite;
+    private final double compactionMinGarbageRatio;
+
+    // Appends and compaction hold the write lock; reads hold the read lock so offsets stay valid
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private FileChannel channel;
+    private long fileSize;
+    private long liveBytes;
+    private long channelCount;
+    private long ideaCount;
+    private final Map<String, IndexEntry> index = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<SessionCursor, SessionSummaryDto> byRecency = new ConcurrentSkipListMap<>(NEWEST_FIRST);
+
+    private final Object mappingMonitor = new Object();
+    private volatile MappedByteBuffer mapping;
+
+    private final ScheduledExecutorService compactor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "session-log-compactor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Where a session's current record is, and what it contributes to the totals
+     */
+    private record IndexEntry(long offset, int length, SessionCursor position, int channels, long ideas,
+                              boolean hasContent) {
+        long recordBytes() {
+            return HEADER_BYTES + length;
+        }
+    }
+
+    public AppendOnlyAnalysisSessionRepository(@Value("${analysis.storage.append-only.path:sessions.log}") String path,
+                                               @Value("${analysis.storage.append-only.sync-on-write:false}") boolean syncOnWrite,
+                                               @Value("${analysis.storage.append-only.compaction-interval-minutes:10}") long compactionIntervalMinutes,
+                                               @Value("${analysis.storage.append-only.compaction-min-garbage-ratio:0.5}") double compactionMinGarbageRatio)
+            throws IOException {
+        this.path = Path.of(path).toAbsolutePath();
+        this.syncOnWrite = syncOnWrite;
+        this.compactionMinGarbageRatio = compactionMinGarbageRatio;
+        this.channel = open(this.path);
+        recover();
+        compactor.scheduleWithFixedDelay(this::compactIfNeeded,
+                compactionIntervalMinutes, compactionIntervalMinutes, TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    public void stop() throws IOException {
+        compactor.shutdownNow();
+        lock.writeLock().lock();
+        try {
+            channel.force(true);
+            channel.close();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void storeSession(AnalysisSession session) {
+        storeSessions(List.of(session));
+    }
+
+    @Override
+    public void storeSessions(List<AnalysisSession> sessions) {
+        List<PendingRecord> records = new ArrayList<>(sessions.size());
+        try {
+            for (AnalysisSession session : sessions) {
+                records.add(PendingRecord.of(SessionDocument.from(session)));
+            }
+            append(records);
+            log.info("Stored {} analysis sessions", sessions.size());
+        } catch (IOException e) {
+            log.error("Failed to append {} analysis sessions", sessions.size(), e);
+            throw new RuntimeException("Failed to store session", e);
+        }
+    }
+
+    @Override
+    public AnalysisSession getSession(String sessionId) {
+        SessionDocument document = readDocument(sessionId);
+        return document != null ? document.toSession() : null;
+    }
+
+    @Override
+    public List<SessionSummaryDto> getSessionSummaries(SessionCursor after, int limit) {
+        Map<SessionCursor, SessionSummaryDto> page = after == null ? byRecency : byRecency.tailMap(after, false);
+        return page.values().stream().limit(limit).toList();
+    }
+
+    @Override
+    public String getSessionContent(String sessionId) {
+        SessionDocument document = readDocument(sessionId);
+        return document != null ? document.originalContent() : null;
+    }
+
+    @Override
+    public StorageStatsDto getStorageStats() {
+        lock.readLock().lock();
+        try {
+            return StorageStatsDto.builder()
+                    .sessionCount(index.size())
+                    .channelCount(channelCount)
+                    .ideaCount(ideaCount)
+                    .databaseSizeBytes(fileSize)
+                    .walSizeBytes(0)
+                    .build();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Oldest first, from the in-memory index
+     */
+    @Override
+    public List<String> getSessionIdsCreatedBefore(LocalDateTime cutoff, int limit) {
+        return byRecency.descendingKeySet().stream()
+                .filter(position -> position.createdAt() != null)
+                .takeWhile(position -> position.createdAt().isBefore(cutoff))
+                .limit(limit)
+                .map(SessionCursor::sessionId)
+                .toList();
+    }
+
+    @Override
+    public void deleteSessions(Collection<String> sessionIds) {
+        lock.writeLock().lock();
+        try {
+            List<PendingRecord> tombstones = sessionIds.stream()
+                    .filter(index::containsKey)
+                    .map(PendingRecord::tombstone)
+                    .toList();
+            append(tombstones);
+            log.debug("Deleted {} analysis sessions", tombstones.size());
+        } catch (IOException e) {
+            log.error("Failed to delete {} analysis sessions", sessionIds.size(), e);
+            throw new RuntimeException("Failed to delete sessions", e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Appends a copy of each session without its content, which leaves the previous record as garbage
+     */
+    @Override
+    public int dropSessionContent(LocalDateTime cutoff, int limit) {
+        lock.writeLock().lock();
+        try {
+            List<PendingRecord> records = new ArrayList<>();
+            for (SessionCursor position : byRecency.descendingKeySet()) {
+                if (records.size() >= limit || position.createdAt() == null || !position.createdAt().isBefore(cutoff)) {
+                    break;
+                }
+                IndexEntry entry = index.get(position.sessionId());
+                if (entry.hasContent()) {
+                    SessionDocument document = SessionDocument.MAPPER.readValue(readPayload(entry), SessionDocument.class);
+                    records.add(PendingRecord.of(document.withoutContent()));
+                }
+            }
+            append(records);
+            return records.size();
+        } catch (IOException e) {
+            log.error("Failed to drop content of analysis sessions created before {}", cutoff, e);
+            throw new RuntimeException("Failed to drop session content", e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public long reclaimSpace() {
+        return compactIfNeeded();
+    }
+
+    /**
+     * A record ready to be appended; document is null for a tombstone
+     */
+    private record PendingRecord(byte type, String sessionId, SessionDocument document, byte[] payload) {
+        static PendingRecord of(SessionDocument document) throws IOException {
+            return new PendingRecord(SESSION_RECORD, document.sessionId(), document,
+                    SessionDocument.MAPPER.writeValueAsBytes(document));
+        }
+
+        static PendingRecord tombstone(String sessionId) {
+            return new PendingRecord(TOMBSTONE_RECORD, sessionId, null, sessionId.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * All records go out in one write, followed by at most one fsync, and then become visible
+     * in the index
+     */
+    private void append(List<PendingRecord> records) throws IOException {
+        if (records.isEmpty()) {
+            return;
+        }
+        int totalBytes = records.stream().mapToInt(record -> HEADER_BYTES + record.payload().length).sum();
+        ByteBuffer buffer = ByteBuffer.allocate(totalBytes);
+        for (PendingRecord record : records) {
+            buffer.putInt(record.payload().length)
+                    .putInt(checksum(record.type(), record.payload()))
+                    .put(record.type())
+                    .put(record.payload());
+        }
+        buffer.flip();
+
+        lock.writeLock().lock();
+        try {
+            long offset = fileSize;
+            writeFully(channel, buffer, offset);
+            if (syncOnWrite) {
+                channel.force(false);
+            }
+            for (PendingRecord record : records) {
+                if (record.type() == SESSION_RECORD) {
+                    apply(record.document(), offset, record.payload().length);
+                } else {
+                    remove(record.sessionId());
+                }
+                offset += HEADER_BYTES + record.payload().length;
+            }
+            fileSize = offset;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private SessionDocument readDocument(String sessionId) {
+        log.debug("Retrieving analysis session: {}", sessionId);
+
+        lock.readLock().lock();
+        try {
+            IndexEntry entry = index.get(sessionId);
+            if (entry == null) {
+                return null;
+            }
+            return SessionDocument.MAPPER.readValue(readPayload(entry), SessionDocument.class);
+        } catch (IOException e) {
+            log.error("Failed to retrieve analysis session: {}", sessionId, e);
+            return null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private byte[] readPayload(IndexEntry entry) throws IOException {
+        long start = entry.offset() + HEADER_BYTES;
+        long end = start + entry.length();
+        byte[] payload = new byte[entry.length()];
+        // A single mapping addresses at most 2 GB; compaction normally keeps the file below that
+        MappedByteBuffer current = end > Integer.MAX_VALUE ? null : mappingCovering(end);
+        if (current != null) {
+            current.get((int) start, payload);
+        } else {
+            readFully(channel, ByteBuffer.wrap(payload), start);
+        }
+        return payload;
+    }
+
+    /**
+     * The current mapping if it reaches the given end. A record appended after it is read from the
+     * channel instead (null), until the file has grown REMAP_GROWTH_BYTES past the mapping, so the
+     * whole file is not remapped on every read of a fresh record. The mapping cannot be made larger
+     * than the file: mapping past the end of a writable channel would extend the log.
+     * Called with the read lock held.
+     */
+    private MappedByteBuffer mappingCovering(long end) throws IOException {
+        MappedByteBuffer current = mapping;
+        if (current != null && current.capacity() >= end) {
+            return current;
+        }
+        synchronized (mappingMonitor) {
+            current = mapping;
+            if (current != null && current.capacity() >= end) {
+                return current;
+            }
+            if (current != null && fileSize - current.capacity() < REMAP_GROWTH_BYTES) {
+                return null;
+            }
+            current = channel.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(fileSize, Integer.MAX_VALUE));
+            mapping = current;
+            return current;
+        }
+    }
+
+    /**
+     * Point the index at a session's newest record; an older record of the same session becomes garbage
+     */
+    private void apply(SessionDocument document, long offset, int length) {
+        SessionSummaryDto summary = document.toSummary();
+        IndexEntry entry = new IndexEntry(offset, length, SessionCursor.after(summary),
+                (int) summary.getChannelCount(), summary.getTotalIdeas(), document.originalContent() != null);
+        forget(index.put(document.sessionId(), entry));
+        byRecency.put(entry.position(), summary);
+        liveBytes += entry.recordBytes();
+        channelCount += entry.channels();
+        ideaCount += entry.ideas();
+    }
+
+    /**
+     * Drop a deleted session from the index; its records and the tombstone become garbage
+     */
+    private void remove(String sessionId) {
+        forget(index.remove(sessionId));
+    }
+
+    private void forget(IndexEntry previous) {
+        if (previous != null) {
+            byRecency.remove(previous.position());
+            liveBytes -= previous.recordBytes();
+            channelCount -= previous.channels();
+            ideaCount -= previous.ideas();
+        }
+    }
+
+    /**
+     * Rebuild the index from the file, cutting off a torn or corrupt tail
+     */
+    private void recover() throws IOException {
+        long size = channel.size();
+        long offset = 0;
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        while (offset + HEADER_BYTES <= size) {
+            header.clear();
+            readFully(channel, header, offset);
+            header.flip();
+            int length = header.getInt();
+            int checksum = header.getInt();
+            byte type = header.get();
+            if ((type != SESSION_RECORD && type != TOMBSTONE_RECORD) || length < 0 || offset + HEADER_BYTES + length > size) {
+                break;
+            }
+            byte[] payload = new byte[length];
+            readFully(channel, ByteBuffer.wrap(payload), offset + HEADER_BYTES);
+            if (checksum(type, payload) != checksum) {
+                break;
+            }
+            if (type == SESSION_RECORD) {
+                apply(SessionDocument.MAPPER.readValue(payload, SessionDocument.class), offset, length);
+            } else {
+                remove(new String(payload, StandardCharsets.UTF_8));
+            }
+            offset += HEADER_BYTES + length;
+        }
+        if (offset < size) {
+            log.warn("Session log {} has {} unreadable trailing bytes, truncating", path, size - offset);
+            channel.truncate(offset);
+        }
+        fileSize = offset;
+        log.info("Opened session log {} with {} sessions ({} bytes)", path, index.size(), fileSize);
+    }
+
+    /**
+     * @return Number of bytes the log shrank by, 0 if it was not compacted
+     */
+    private long compactIfNeeded() {
+        double garbageRatio;
+        lock.readLock().lock();
+        try {
+            garbageRatio = fileSize > 0 ? (double) (fileSize - liveBytes) / fileSize : 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+        return garbageRatio >= compactionMinGarbageRatio ? compact() : 0;
+    }
+
+    /**
+     * Copy the live records into a new file in their current order and swap it in
+     */
+    private long compact() {
+        Path target = path.resolveSibling(path.getFileName() + COMPACTION_SUFFIX);
+        lock.writeLock().lock();
+        try {
+            long sizeBefore = fileSize;
+            List<Map.Entry<String, IndexEntry>> live = new ArrayList<>(index.entrySet());
+            live.sort(Comparator.comparingLong(entry -> entry.getValue().offset()));
+
+            Map<String, IndexEntry> moved = new HashMap<>();
+            long offset = 0;
+            try (FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                for (Map.Entry<String, IndexEntry> entry : live) {
+                    IndexEntry record = entry.getValue();
+                    transferFully(record.offset(), record.recordBytes(), out, offset);
+                    moved.put(entry.getKey(), new IndexEntry(offset, record.length(), record.position(),
+                            record.channels(), record.ideas(), record.hasContent()));
+                    offset += record.recordBytes();
+                }
+                out.force(true);
+            }
+
+            channel.close();
+            try {
+                Files.move(target, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                // Reopen whichever file is now in place, the compacted one or the untouched original
+                channel = open(path);
+                mapping = null;
+            }
+            index.putAll(moved);
+            fileSize = offset;
+            liveBytes = offset;
+            log.info("Compacted session log {} from {} to {} bytes", path, sizeBefore, fileSize);
+            return sizeBefore - fileSize;
+        } catch (IOException e) {
+            log.error("Failed to compact session log {}", path, e);
+            return 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void transferFully(long position, long count, FileChannel target, long targetPosition) throws IOException {
+        long transferred = 0;
+        while (transferred < count) {
+            long written = channel.transferTo(position + transferred, count - transferred,
+                    target.position(targetPosition + transferred));
+            if (written <= 0) {
+                throw new EOFException("Unexpected end of session log at " + (position + transferred));
+            }
+            transferred += written;
+        }
+    }
+
+    private static FileChannel open(Path path) throws IOException {
+        return FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new EOFException("Unexpected end of session log at " + position);
+            }
+            position += read;
+        }
+    }
+
+    private static int checksum(byte type, byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(type);
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+}
@@ -0,0 +1,192 @@
+package com.buffer.repository;
+
+import com.buffer.domain.dto.common.SessionSummaryDto;
+import com.buffer.domain.dto.common.StorageStatsDto;
+import com.buffer.domain.dto.response.SessionCacheStatsResponse;
+import com.buffer.domain.entity.AnalysisSession;
+import com.buffer.domain.entity.ContentIdea;
+import com.buffer.domain.entity.SocialMediaChannel;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caching implementation of AnalysisSessionRepository.
+ * Keeps recently stored and recently read sessions in memory in front of the write-behind
+ * repository, so repeated reads of a fresh session (side panel, session monitoring) are a map
+ * lookup instead of a storage round trip. Stored sessions are cached right away. The cache is
+ * bounded by the estimated size of the cached sessions rather than their count, since a single
+ * page's original content can be far larger than a typical one. Summaries and storage statistics
+ * always come from storage.
+ */
+@Slf4j
+@Component
+@Primary
+public class CachingAnalysisSessionRepository implements AnalysisSessionRepository {
+
+    private static final int OBJECT_OVERHEAD_BYTES = 64;
+    private static final int STRING_OVERHEAD_BYTES = 40;
+
+    private final AnalysisSessionRepository delegate;
+    private final boolean enabled;
+    private final long maxWeightBytes;
+    private final Duration ttl;
+    private final Cache<String, AnalysisSession> cache;
+
+    @Autowired
+    public CachingAnalysisSessionRepository(WriteBehindAnalysisSessionRepository delegate,
+                                            @Value("${analysis.session-cache.enabled:true}") boolean enabled,
+                                            @Value("${analysis.session-cache.max-weight-mb:64}") long maxWeightMb,
+                                            @Value("${analysis.session-cache.ttl-minutes:30}") long ttlMinutes) {
+        this.delegate = delegate;
+        this.enabled = enabled;
+        this.maxWeightBytes = maxWeightMb * 1024 * 1024;
+        this.ttl = Duration.ofMinutes(ttlMinutes);
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxWeightBytes)
+                .weigher((String sessionId, AnalysisSession session) -> estimateBytes(session))
+                .expireAfterAccess(ttl)
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public void storeSession(AnalysisSession session) {
+        delegate.storeSession(session);
+        if (enabled) {
+            cache.put(session.getSessionId(), session);
+        }
+    }
+
+    @Override
+    public void storeSessions(List<AnalysisSession> sessions) {
+        delegate.storeSessions(sessions);
+        if (enabled) {
+            sessions.forEach(session -> cache.put(session.getSessionId(), session));
+        }
+    }
+
+    /**
+     * Read-through: concurrent misses for the same session share one storage read, and a session
+     * that does not exist is not cached
+     */
+    @Override
+    public AnalysisSession getSession(String sessionId) {
+        if (!enabled) {
+            return delegate.getSession(sessionId);
+        }
+        return cache.get(sessionId, delegate::getSession);
+    }
+
+    @Override
+    public List<SessionSummaryDto> getSessionSummaries(SessionCursor after, int limit) {
+        return delegate.getSessionSummaries(after, limit);
+    }
+
+    /**
+     * Served from a cached session when there is one, without loading the session otherwise
+     */
+    @Override
+    public String getSessionContent(String sessionId) {
+        AnalysisSession cached = enabled ? cache.asMap().get(sessionId) : null;
+        return cached != null ? cached.getOriginalContent() : delegate.getSessionContent(sessionId);
+    }
+
+    @Override
+    public StorageStatsDto getStorageStats() {
+        return delegate.getStorageStats();
+    }
+
+    @Override
+    public List<String> getSessionIdsCreatedBefore(LocalDateTime cutoff, int limit) {
+        return delegate.getSessionIdsCreatedBefore(cutoff, limit);
+    }
+
+    @Override
+    public void deleteSessions(Collection<String> sessionIds) {
+        delegate.deleteSessions(sessionIds);
+        cache.invalidateAll(sessionIds);
+    }
+
+    /**
+     * Cached sessions older than the cutoff are dropped too, whether or not storage changed them
+     */
+    @Override
+    public int dropSessionContent(LocalDateTime cutoff, int limit) {
+        int dropped = delegate.dropSessionContent(cutoff, limit);
+        if (dropped > 0) {
+            cache.asMap().values().removeIf(session ->
+                    session.getCreatedAt() != null && session.getCreatedAt().isBefore(cutoff));
+        }
+        return dropped;
+    }
+
+    @Override
+    public long reclaimSpace() {
+        return delegate.reclaimSpace();
+    }
+
+    public SessionCacheStatsResponse getStats() {
+        CacheStats stats = cache.stats();
+        long weightBytes = cache.policy().eviction()
+                .map(eviction -> eviction.weightedSize().orElse(0))
+                .orElse(0L);
+        return SessionCacheStatsResponse.builder()
+                .enabled(enabled)
+                .size(cache.estimatedSize())
+                .weightBytes(weightBytes)
+                .maxWeightBytes(maxWeightBytes)
+                .ttlSeconds(ttl.toSeconds())
+                .hitCount(stats.hitCount())
+                .missCount(stats.missCount())
+                .evictionCount(stats.evictionCount())
+                .evictionWeightBytes(stats.evictionWeight())
+                .hitRate(stats.hitRate())
+                .averageLoadMillis(stats.averageLoadPenalty() / TimeUnit.MILLISECONDS.toNanos(1))
+                .build();
+    }
+
+    /**
+     * Rough heap footprint of a session graph, dominated by its strings
+     */
+    private static int estimateBytes(AnalysisSession session) {
+        long bytes = OBJECT_OVERHEAD_BYTES
+                + stringBytes(session.getOriginalContent())
+                + stringBytes(session.getTitle())
+                + stringBytes(session.getDescription())
+                + stringBytes(session.getUrl())
+                + stringBytes(session.getSummary())
+                + stringBytes(session.getHeadings());
+        for (SocialMediaChannel channel : session.getSocialMediaChannels()) {
+            bytes += OBJECT_OVERHEAD_BYTES + stringBytes(channel.getDescription());
+            for (ContentIdea idea : channel.getContentIdeas()) {
+                bytes += OBJECT_OVERHEAD_BYTES
+                        + stringBytes(idea.getDescription())
+                        + stringBytes(idea.getRationale())
+                        + stringBytes(idea.getPros())
+                        + stringBytes(idea.getCons());
+            }
+        }
+        return (int) Math.min(bytes, Integer.MAX_VALUE);
+    }
+
+    private static long stringBytes(List<String> values) {
+        return values != null ? values.stream().mapToLong(CachingAnalysisSessionRepository::stringBytes).sum() : 0;
+    }
+
+    // Two bytes per char covers text outside Latin-1, which the JVM cannot store compactly
+    private static long stringBytes(String value) {
+        return value != null ? STRING_OVERHEAD_BYTES + 2L * value.length() : 0;
+    }
+}
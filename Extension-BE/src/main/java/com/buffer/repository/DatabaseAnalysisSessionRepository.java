@@ -1,30 +1,91 @@
 package com.buffer.repository;
 
+import com.buffer.domain.dto.common.SessionSummaryDto;
+import com.buffer.domain.dto.common.StorageStatsDto;
 import com.buffer.domain.entity.AnalysisSession;
+import jakarta.persistence.EntityManager;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.context.annotation.Primary;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Database-based implementation of AnalysisSessionRepository.
  * Uses SQLite database for persistent storage via Spring Data JPA.
+ * Reads run in read-only transactions, which the sqlite-perf profile routes to its read pool.
+ * This is the default storage backend (analysis.storage.backend=database).
  */
 @Slf4j
 @Component
-@Primary
+@Qualifier(AnalysisSessionRepository.STORAGE_BACKEND)
+@ConditionalOnProperty(name = "analysis.storage.backend", havingValue = "database", matchIfMissing = true)
 public class DatabaseAnalysisSessionRepository implements AnalysisSessionRepository {
     
+    private static final String SESSIONS_TABLE = "analysis_sessions";
+    private static final String CHANNELS_TABLE = "social_media_channels";
+    private static final String IDEAS_TABLE = "content_ideas";
+    private static final String WAL_SUFFIX = "-wal";
+    private static final int AUTO_VACUUM_INCREMENTAL = 2;
+    
+    // Children first; each statement finds its rows through the indexed foreign keys
+    private static final List<String> DELETE_SESSION_GRAPH = List.of(
+            "DELETE FROM content_idea_pros WHERE idea_id IN (SELECT i.idea_id FROM content_ideas i "
+                    + "JOIN social_media_channels c ON c.channel_id = i.channel_id WHERE c.session_id IN (:sessionIds))",
+            "DELETE FROM content_idea_cons WHERE idea_id IN (SELECT i.idea_id FROM content_ideas i "
+                    + "JOIN social_media_channels c ON c.channel_id = i.channel_id WHERE c.session_id IN (:sessionIds))",
+            "DELETE FROM content_ideas WHERE channel_id IN "
+                    + "(SELECT channel_id FROM social_media_channels WHERE session_id IN (:sessionIds))",
+            "DELETE FROM social_media_channels WHERE session_id IN (:sessionIds)",
+            "DELETE FROM session_headings WHERE session_id IN (:sessionIds)",
+            "DELETE FROM analysis_sessions WHERE session_id IN (:sessionIds)");
+    
     private final JpaAnalysisSessionRepository jpaRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final EntityManager entityManager;
+    private final long rowCountsTtlNanos;
+    private volatile RowCounts rowCounts;
+    
+    /**
+     * Per-table row counts and when they were taken
+     */
+    private record RowCounts(Map<String, Long> counts, long takenNanos) {}
     
     @Autowired
-    public DatabaseAnalysisSessionRepository(JpaAnalysisSessionRepository jpaRepository) {
+    public DatabaseAnalysisSessionRepository(JpaAnalysisSessionRepository jpaRepository, JdbcTemplate jdbcTemplate,
+                                             EntityManager entityManager,
+                                             @Value("${analysis.storage.stats-ttl-seconds:30}") long statsTtlSeconds) {
         this.jpaRepository = jpaRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.entityManager = entityManager;
+        this.rowCountsTtlNanos = TimeUnit.SECONDS.toNanos(statsTtlSeconds);
     }
     
+    /**
+     * Sessions are always new, so the graph is persisted rather than merged: merge would first
+     * SELECT every session, channel and idea by its assigned ID. The whole graph is flushed as
+     * batched inserts in one transaction.
+     */
     @Override
+    @Transactional
     public void storeSession(AnalysisSession session) {
         log.debug("Storing analysis session: {}", session.getSessionId());
         
@@ -33,21 +94,53 @@ public class DatabaseAnalysisSessionRepository implements AnalysisSessionReposit
             int channelCount = session.getSocialMediaChannels().size();
             int totalIdeas = session.getSocialMediaChannels().stream().mapToInt(c -> c.getContentIdeas().size()).sum();
             
-            AnalysisSession savedSession = jpaRepository.save(session);
+            entityManager.persist(session);
+            entityManager.flush();
             log.info("Stored analysis session: {} with {} channels and {} total ideas", 
-                savedSession.getSessionId(), channelCount, totalIdeas);
+                session.getSessionId(), channelCount, totalIdeas);
         } catch (Exception e) {
             log.error("Failed to store analysis session: {}", session.getSessionId(), e);
             throw new RuntimeException("Failed to store session", e);
         }
     }
     
+    /**
+     * Group commit: all sessions are persisted and flushed as batched inserts in one transaction,
+     * so either the whole group is stored or none of it is
+     */
+    @Override
+    @Transactional
+    public void storeSessions(List<AnalysisSession> sessions) {
+        log.debug("Storing {} analysis sessions", sessions.size());
+        
+        try {
+            sessions.forEach(entityManager::persist);
+            entityManager.flush();
+            log.info("Stored {} analysis sessions in one transaction", sessions.size());
+        } catch (Exception e) {
+            log.error("Failed to store {} analysis sessions", sessions.size(), e);
+            throw new RuntimeException("Failed to store sessions", e);
+        }
+    }
+    
+    /**
+     * The whole graph is loaded inside the read-only transaction, in a fixed number of fetch-join
+     * queries, so callers never trigger lazy loads on a connection outside it
+     */
     @Override
+    @Transactional(readOnly = true)
     public AnalysisSession getSession(String sessionId) {
         log.debug("Retrieving analysis session: {}", sessionId);
         
         try {
-            return jpaRepository.findById(sessionId).orElse(null);
+            AnalysisSession session = jpaRepository.findWithHeadings(sessionId).orElse(null);
+            if (session != null) {
+                jpaRepository.fetchChannels(sessionId);
+                jpaRepository.fetchIdeas(sessionId);
+                jpaRepository.fetchPros(sessionId);
+                jpaRepository.fetchCons(sessionId);
+            }
+            return session;
         } catch (Exception e) {
             log.error("Failed to retrieve analysis session: {}", sessionId, e);
             return null;
@@ -55,15 +148,180 @@ public class DatabaseAnalysisSessionRepository implements AnalysisSessionReposit
     }
     
     @Override
-    public List<AnalysisSession> getAllSessions() {
-        log.debug("Retrieving all analysis sessions");
+    @Transactional(readOnly = true)
+    public List<SessionSummaryDto> getSessionSummaries(SessionCursor after, int limit) {
+        log.debug("Retrieving {} session summaries after: {}", limit, after);
         
         try {
-            return jpaRepository.findAllByOrderByCreatedAtDesc();
+            return after == null
+                    ? jpaRepository.findSummaries(Limit.of(limit))
+                    : jpaRepository.findSummariesAfter(after.createdAt(), after.sessionId(), Limit.of(limit));
         } catch (Exception e) {
-            log.error("Failed to retrieve all sessions", e);
+            log.error("Failed to retrieve session summaries", e);
             throw new RuntimeException("Failed to retrieve sessions", e);
         }
     }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public String getSessionContent(String sessionId) {
+        log.debug("Retrieving content of analysis session: {}", sessionId);
+        
+        try {
+            return jpaRepository.findOriginalContent(sessionId).orElse(null);
+        } catch (Exception e) {
+            log.error("Failed to retrieve content of analysis session: {}", sessionId, e);
+            return null;
+        }
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public StorageStatsDto getStorageStats() {
+        log.debug("Retrieving storage statistics");
+        
+        try {
+            Map<String, Long> tableRowCounts = cachedTableRowCounts();
+            Path databaseFile = databaseFile();
+            
+            return StorageStatsDto.builder()
+                    .sessionCount(tableRowCounts.getOrDefault(SESSIONS_TABLE, 0L))
+                    .channelCount(tableRowCounts.getOrDefault(CHANNELS_TABLE, 0L))
+                    .ideaCount(tableRowCounts.getOrDefault(IDEAS_TABLE, 0L))
+                    .tableRowCounts(tableRowCounts)
+                    .databaseSizeBytes(fileSize(databaseFile))
+                    .walSizeBytes(databaseFile != null ? fileSize(Path.of(databaseFile + WAL_SUFFIX)) : 0)
+                    .build();
+        } catch (Exception e) {
+            log.error("Failed to retrieve storage statistics", e);
+            throw new RuntimeException("Failed to retrieve storage statistics", e);
+        }
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public List<String> getSessionIdsCreatedBefore(LocalDateTime cutoff, int limit) {
+        return jpaRepository.findSessionIdsCreatedBefore(cutoff, Limit.of(limit));
+    }
+    
+    /**
+     * A whole session graph is removed with a fixed number of set-based deletes, bypassing the
+     * persistence context, instead of loading every entity to remove it
+     */
+    @Override
+    @Transactional
+    public void deleteSessions(Collection<String> sessionIds) {
+        if (sessionIds.isEmpty()) {
+            return;
+        }
+        log.debug("Deleting {} analysis sessions", sessionIds.size());
+        
+        try {
+            Map<String, Object> parameters = Map.of("sessionIds", sessionIds);
+            for (String statement : DELETE_SESSION_GRAPH) {
+                namedJdbcTemplate.update(statement, parameters);
+            }
+        } catch (Exception e) {
+            log.error("Failed to delete {} analysis sessions", sessionIds.size(), e);
+            throw new RuntimeException("Failed to delete sessions", e);
+        }
+    }
+    
+    @Override
+    @Transactional
+    public int dropSessionContent(LocalDateTime cutoff, int limit) {
+        try {
+            List<String> sessionIds = jpaRepository.findSessionIdsWithContentCreatedBefore(cutoff, Limit.of(limit));
+            return sessionIds.isEmpty() ? 0 : jpaRepository.clearOriginalContent(sessionIds);
+        } catch (Exception e) {
+            log.error("Failed to drop content of analysis sessions created before {}", cutoff, e);
+            throw new RuntimeException("Failed to drop session content", e);
+        }
+    }
+    
+    /**
+     * Hand free pages back to the file system with PRAGMA incremental_vacuum. New databases are
+     * created with auto_vacuum=INCREMENTAL; an older database keeps its free pages for reuse until
+     * an operator converts it with a one-off full VACUUM, which is never run from here since it
+     * would hold the write connection for the whole rebuild.
+     */
+    @Override
+    public long reclaimSpace() {
+        try {
+            Integer autoVacuum = jdbcTemplate.queryForObject("PRAGMA auto_vacuum", Integer.class);
+            if (autoVacuum == null || autoVacuum != AUTO_VACUUM_INCREMENTAL) {
+                log.warn("Database was not created with incremental auto-vacuum, freed pages stay in the file "
+                        + "until it is converted with PRAGMA auto_vacuum = INCREMENTAL followed by VACUUM");
+                return 0;
+            }
+            long pageSize = jdbcTemplate.queryForObject("PRAGMA page_size", Long.class);
+            long pagesBefore = jdbcTemplate.queryForObject("PRAGMA page_count", Long.class);
+            jdbcTemplate.execute("PRAGMA incremental_vacuum");
+            long pagesAfter = jdbcTemplate.queryForObject("PRAGMA page_count", Long.class);
+            return Math.max(0, pagesBefore - pagesAfter) * pageSize;
+        } catch (Exception e) {
+            log.error("Failed to reclaim database space", e);
+            throw new RuntimeException("Failed to reclaim database space", e);
+        }
+    }
+    
+    /**
+     * Row counts taken at most stats-ttl-seconds ago. Counting walks every table, so repeated
+     * health probes share one count instead of each scanning the whole history; concurrent
+     * probes after expiry wait for a single recount.
+     */
+    private Map<String, Long> cachedTableRowCounts() {
+        RowCounts current = rowCounts;
+        if (current != null && System.nanoTime() - current.takenNanos() < rowCountsTtlNanos) {
+            return current.counts();
+        }
+        synchronized (this) {
+            current = rowCounts;
+            if (current == null || System.nanoTime() - current.takenNanos() >= rowCountsTtlNanos) {
+                current = new RowCounts(Collections.unmodifiableMap(countTableRows()), System.nanoTime());
+                rowCounts = current;
+            }
+            return current.counts();
+        }
+    }
+    
+    /**
+     * COUNT(*) of every application table. SQLite reads no row data for these, but still walks
+     * the whole b-tree of each table's smallest index, so the cost grows linearly with history.
+     */
+    private Map<String, Long> countTableRows() {
+        List<String> tables = jdbcTemplate.queryForList(
+                "SELECT name FROM sqlite_master WHERE type = 'table' AND name NOT LIKE 'sqlite_%' ORDER BY name",
+                String.class);
+        
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (String table : tables) {
+            String quoted = '"' + table.replace("\"", "\"\"") + '"';
+            counts.put(table, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + quoted, Long.class));
+        }
+        return counts;
+    }
+    
+    /**
+     * Path of the main database file, or null for in-memory and temporary databases
+     */
+    private Path databaseFile() {
+        return jdbcTemplate.queryForList("PRAGMA database_list").stream()
+                .filter(row -> "main".equals(row.get("name")))
+                .map(row -> (String) row.get("file"))
+                .filter(file -> file != null && !file.isEmpty())
+                .map(Path::of)
+                .findFirst()
+                .orElse(null);
+    }
+    
+    private static long fileSize(Path file) {
+        try {
+            return file != null && Files.exists(file) ? Files.size(file) : 0;
+        } catch (IOException e) {
+            log.warn("Failed to read size of database file: {}", file, e);
+            return 0;
+        }
+    }
 
 }
@@ -1,10 +1,20 @@
 package com.buffer.repository;
 
+import com.buffer.domain.dto.common.SessionSummaryDto;
 import com.buffer.domain.entity.AnalysisSession;
+import com.buffer.domain.entity.ContentIdea;
+import com.buffer.domain.entity.SocialMediaChannel;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * JPA repository interface for AnalysisSession entity.
@@ -12,10 +22,114 @@ import java.util.List;
  */
 @Repository
 public interface JpaAnalysisSessionRepository extends JpaRepository<AnalysisSession, String> {
-    
+
+    // Projection that never touches the content columns; counts come from indexed foreign keys
+    String SUMMARY_SELECT = "select new com.buffer.domain.dto.common.SessionSummaryDto("
+            + "s.sessionId, s.title, s.url, s.createdAt, "
+            + "(select count(c) from SocialMediaChannel c where c.analysisSession = s), "
+            + "(select count(i) from ContentIdea i where i.socialMediaChannel.analysisSession = s)) "
+            + "from AnalysisSession s ";
+    String SUMMARY_ORDER = " order by s.createdAt desc, s.sessionId desc";
+
+    /**
+     * Find the newest session summaries
+     * @param limit Maximum number of summaries to return
+     * @return Summaries ordered by creation date and session ID (the newest first)
+     */
+    @Query(SUMMARY_SELECT + SUMMARY_ORDER)
+    List<SessionSummaryDto> findSummaries(Limit limit);
+
+    /**
+     * Find the session summaries that come after the given keyset position
+     * @param createdAt Creation date of the last summary already returned
+     * @param sessionId Session ID of the last summary already returned
+     * @param limit Maximum number of summaries to return
+     * @return Summaries ordered by creation date and session ID (the newest first)
+     */
+    @Query(SUMMARY_SELECT
+            + "where s.createdAt < :createdAt or (s.createdAt = :createdAt and s.sessionId < :sessionId)"
+            + SUMMARY_ORDER)
+    List<SessionSummaryDto> findSummariesAfter(@Param("createdAt") LocalDateTime createdAt,
+                                               @Param("sessionId") String sessionId,
+                                               Limit limit);
+
+    /**
+     * Find only the stored page content of a session
+     * @param sessionId The unique session identifier
+     * @return The original content, or empty if the session does not exist
+     */
+    @Query("select s.originalContent from AnalysisSession s where s.sessionId = :sessionId")
+    Optional<String> findOriginalContent(@Param("sessionId") String sessionId);
+
+    /**
+     * Find the oldest sessions created before a point in time
+     * @param cutoff Only sessions created before this are returned
+     * @param limit Maximum number of session IDs to return
+     * @return Session IDs ordered by creation date (the oldest first)
+     */
+    @Query("select s.sessionId from AnalysisSession s where s.createdAt < :cutoff order by s.createdAt, s.sessionId")
+    List<String> findSessionIdsCreatedBefore(@Param("cutoff") LocalDateTime cutoff, Limit limit);
+
+    /**
+     * Find the oldest sessions created before a point in time that still have their page content
+     * @param cutoff Only sessions created before this are returned
+     * @param limit Maximum number of session IDs to return
+     * @return Session IDs ordered by creation date (the oldest first)
+     */
+    @Query("select s.sessionId from AnalysisSession s where s.createdAt < :cutoff and s.originalContent is not null "
+            + "order by s.createdAt, s.sessionId")
+    List<String> findSessionIdsWithContentCreatedBefore(@Param("cutoff") LocalDateTime cutoff, Limit limit);
+
+    /**
+     * Drop the page content of the given sessions
+     * @param sessionIds The sessions to change
+     * @return Number of sessions changed
+     */
+    @Modifying
+    @Query("update AnalysisSession s set s.originalContent = null where s.sessionId in :sessionIds")
+    int clearOriginalContent(@Param("sessionIds") Collection<String> sessionIds);
+
+    /*
+     * A session's graph is fetched level by level, one query per collection, so loading it takes
+     * the same five queries however many channels and ideas it has. Fetching two of the list
+     * collections in one query is not possible (Hibernate cannot fetch several bags at once) and
+     * would multiply the rows anyway. The queries must run in one persistence context, where each
+     * one fills in the collections of the entities loaded by the previous ones.
+     */
+
+    /**
+     * Find a session with its headings
+     * @param sessionId The unique session identifier
+     * @return The session, or empty if it does not exist
+     */
+    @Query("select s from AnalysisSession s left join fetch s.headings where s.sessionId = :sessionId")
+    Optional<AnalysisSession> findWithHeadings(@Param("sessionId") String sessionId);
+
+    /**
+     * Load the channels of a session that is already in the persistence context
+     * @param sessionId The unique session identifier
+     */
+    @Query("select s from AnalysisSession s left join fetch s.socialMediaChannels where s.sessionId = :sessionId")
+    Optional<AnalysisSession> fetchChannels(@Param("sessionId") String sessionId);
+
+    /**
+     * Load the ideas of every channel of a session
+     * @param sessionId The unique session identifier
+     */
+    @Query("select c from SocialMediaChannel c left join fetch c.contentIdeas where c.analysisSession.sessionId = :sessionId")
+    List<SocialMediaChannel> fetchIdeas(@Param("sessionId") String sessionId);
+
+    /**
+     * Load the pros of every idea of a session
+     * @param sessionId The unique session identifier
+     */
+    @Query("select i from ContentIdea i left join fetch i.pros where i.socialMediaChannel.analysisSession.sessionId = :sessionId")
+    List<ContentIdea> fetchPros(@Param("sessionId") String sessionId);
+
     /**
-     * Find sessions ordered by creation date (the newest first)
-     * @return List of sessions ordered by creation date
+     * Load the cons of every idea of a session
+     * @param sessionId The unique session identifier
      */
-    List<AnalysisSession> findAllByOrderByCreatedAtDesc();
+    @Query("select i from ContentIdea i left join fetch i.cons where i.socialMediaChannel.analysisSession.sessionId = :sessionId")
+    List<ContentIdea> fetchCons(@Param("sessionId") String sessionId);
 }
@@ -0,0 +1,45 @@
+package com.buffer.repository;
+
+import com.buffer.domain.dto.common.SessionSummaryDto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Keyset position in the session listing, which is ordered by creation time and then session
+ * ID, both descending. Handed to clients as an opaque URL-safe token.
+ */
+public record SessionCursor(LocalDateTime createdAt, String sessionId) {
+
+    private static final char SEPARATOR = '|';
+
+    /**
+     * Position just after the given session, i.e. where the next page starts
+     */
+    public static SessionCursor after(SessionSummaryDto session) {
+        return new SessionCursor(session.getCreatedAt(), session.getSessionId());
+    }
+
+    public String encode() {
+        String raw = createdAt.toString() + SEPARATOR + sessionId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException if the token was not produced by {@link #encode()}
+     */
+    public static SessionCursor decode(String token) {
+        String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        int separator = raw.indexOf(SEPARATOR);
+        if (separator <= 0 || separator == raw.length() - 1) {
+            throw new IllegalArgumentException("Malformed session cursor");
+        }
+        try {
+            return new SessionCursor(LocalDateTime.parse(raw.substring(0, separator)), raw.substring(separator + 1));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Malformed session cursor", e);
+        }
+    }
+}
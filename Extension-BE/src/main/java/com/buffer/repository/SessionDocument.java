@@ -0,0 +1,104 @@
+package com.buffer.repository;
+
+import com.buffer.domain.dto.common.SessionSummaryDto;
+import com.buffer.domain.entity.AnalysisSession;
+import com.buffer.domain.entity.ContentIdea;
+import com.buffer.domain.entity.SocialMediaChannel;
+import com.buffer.domain.enums.ChannelType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A complete analysis session as one self-contained document, without the entities' back
+ * references, so it can be stored and read back as a single record
+ */
+record SessionDocument(String sessionId, String originalContent, String title, String description, String url,
+                       List<String> headings, String summary, LocalDateTime createdAt, List<Channel> channels) {
+
+    // Dates as ISO strings, so stored documents stay readable
+    static final ObjectMapper MAPPER = JsonMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    record Channel(String channelId, ChannelType name, String description, LocalDateTime createdAt, List<Idea> ideas) {}
+
+    record Idea(String ideaId, String description, String rationale, List<String> pros, List<String> cons,
+                LocalDateTime createdAt) {}
+
+    static SessionDocument from(AnalysisSession session) {
+        List<Channel> channels = new ArrayList<>();
+        for (SocialMediaChannel channel : session.getSocialMediaChannels()) {
+            List<Idea> ideas = new ArrayList<>();
+            for (ContentIdea idea : channel.getContentIdeas()) {
+                ideas.add(new Idea(idea.getIdeaId(), idea.getDescription(), idea.getRationale(),
+                        copy(idea.getPros()), copy(idea.getCons()), idea.getCreatedAt()));
+            }
+            channels.add(new Channel(channel.getChannelId(), channel.getName(), channel.getDescription(),
+                    channel.getCreatedAt(), ideas));
+        }
+        return new SessionDocument(session.getSessionId(), session.getOriginalContent(), session.getTitle(),
+                session.getDescription(), session.getUrl(), copy(session.getHeadings()), session.getSummary(),
+                session.getCreatedAt(), channels);
+    }
+
+    SessionDocument withoutContent() {
+        return new SessionDocument(sessionId, null, title, description, url, headings, summary, createdAt, channels);
+    }
+
+    AnalysisSession toSession() {
+        AnalysisSession session = AnalysisSession.builder()
+                .sessionId(sessionId)
+                .originalContent(originalContent)
+                .title(title)
+                .description(description)
+                .url(url)
+                .headings(copy(headings))
+                .summary(summary)
+                .createdAt(createdAt)
+                .socialMediaChannels(new ArrayList<>())
+                .build();
+        for (Channel channel : channels) {
+            SocialMediaChannel entity = SocialMediaChannel.builder()
+                    .channelId(channel.channelId())
+                    .name(channel.name())
+                    .description(channel.description())
+                    .createdAt(channel.createdAt())
+                    .contentIdeas(new ArrayList<>())
+                    .build();
+            for (Idea idea : channel.ideas()) {
+                entity.addIdea(ContentIdea.builder()
+                        .ideaId(idea.ideaId())
+                        .description(idea.description())
+                        .rationale(idea.rationale())
+                        .pros(copy(idea.pros()))
+                        .cons(copy(idea.cons()))
+                        .createdAt(idea.createdAt())
+                        .build());
+            }
+            session.addChannel(entity);
+        }
+        return session;
+    }
+
+    SessionSummaryDto toSummary() {
+        return SessionSummaryDto.builder()
+                .sessionId(sessionId)
+                .title(title)
+                .url(url)
+                .createdAt(createdAt)
+                .channelCount(channels.size())
+                .totalIdeas(channels.stream().mapToLong(channel -> channel.ideas().size()).sum())
+                .build();
+    }
+
+    private static List<String> copy(List<String> values) {
+        return values != null ? new ArrayList<>(values) : null;
+    }
+}
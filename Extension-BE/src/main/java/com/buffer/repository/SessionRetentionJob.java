@@ -0,0 +1,234 @@
+package com.buffer.repository;
+
+import com.buffer.domain.dto.response.RetentionStatsResponse;
+import com.buffer.domain.entity.AnalysisSession;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.Closeable;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Session Retention Job
+ *
+ * Keeps storage bounded by periodically removing old analysis sessions. Sessions older than
+ * max-age-days are deleted, after being written to a gzipped JSON lines archive when an archive
+ * directory is configured (a session that cannot be loaded for the archive is kept, and fails the
+ * run); sessions older than content-max-age-days keep their summary and ideas
+ * but lose the stored page content. Work is done in small batches, each its own short write, so
+ * new sessions are never held up for long. Space freed by a run is then returned to the file
+ * system by the storage backend.
+ */
+@Slf4j
+@Component
+public class SessionRetentionJob {
+
+    private static final long INITIAL_DELAY_MINUTES = 1;
+
+    private final AnalysisSessionRepository repository;
+    private final boolean enabled;
+    private final long maxAgeDays;
+    private final long contentMaxAgeDays;
+    private final int batchSize;
+    private final Path archiveDirectory;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "session-retention");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile LastRun lastRun;
+    private final LongAdder totalSessionsDeleted = new LongAdder();
+    private final LongAdder totalSessionsArchived = new LongAdder();
+    private final LongAdder totalContentDropped = new LongAdder();
+    private final LongAdder totalBytesReclaimed = new LongAdder();
+
+    /**
+     * Outcome of the most recent run
+     */
+    private record LastRun(LocalDateTime startedAt, long millis, long sessionsDeleted, long contentDropped,
+                           long bytesReclaimed, Path archiveFile, String error) {}
+
+    @Autowired
+    public SessionRetentionJob(AnalysisSessionRepository repository,
+                               @Value("${analysis.retention.enabled:false}") boolean enabled,
+                               @Value("${analysis.retention.max-age-days:90}") long maxAgeDays,
+                               @Value("${analysis.retention.content-max-age-days:0}") long contentMaxAgeDays,
+                               @Value("${analysis.retention.batch-size:100}") int batchSize,
+                               @Value("${analysis.retention.interval-minutes:60}") long intervalMinutes,
+                               @Value("${analysis.retention.archive-dir:}") String archiveDirectory) {
+        this.repository = repository;
+        this.enabled = enabled;
+        this.maxAgeDays = maxAgeDays;
+        this.contentMaxAgeDays = contentMaxAgeDays;
+        this.batchSize = Math.max(1, batchSize);
+        this.archiveDirectory = archiveDirectory.isBlank() ? null : Path.of(archiveDirectory);
+        if (enabled) {
+            scheduler.scheduleWithFixedDelay(this::run, INITIAL_DELAY_MINUTES, intervalMinutes, TimeUnit.MINUTES);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Apply the retention rules once; a failure ends the run and is retried at the next one.
+     * Expired sessions go first, so they are archived with their content and not rewritten
+     * just before being deleted.
+     */
+    synchronized void run() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        long startNanos = System.nanoTime();
+        long contentDropped = 0;
+        long sessionsDeleted = 0;
+        long bytesReclaimed = 0;
+        Path archiveFile = null;
+        String error = null;
+
+        try {
+            if (maxAgeDays > 0) {
+                LocalDateTime cutoff = startedAt.minusDays(maxAgeDays);
+                try (SessionArchive archive = archiveDirectory != null ? new SessionArchive(archiveDirectory, startedAt) : null) {
+                    List<String> sessionIds;
+                    do {
+                        sessionIds = repository.getSessionIdsCreatedBefore(cutoff, batchSize);
+                        if (sessionIds.isEmpty()) {
+                            break;
+                        }
+                        List<String> unreadable = List.of();
+                        if (archive != null) {
+                            // Written and synced before the sessions are deleted; only archived sessions are deleted
+                            List<AnalysisSession> sessions = sessionIds.stream()
+                                    .map(repository::getSession)
+                                    .filter(Objects::nonNull)
+                                    .toList();
+                            archive.write(sessions);
+                            totalSessionsArchived.add(sessions.size());
+                            archiveFile = archive.file();
+                            List<String> archivedIds = sessions.stream().map(AnalysisSession::getSessionId).toList();
+                            unreadable = sessionIds.stream().filter(id -> !archivedIds.contains(id)).toList();
+                            sessionIds = archivedIds;
+                        }
+                        repository.deleteSessions(sessionIds);
+                        sessionsDeleted += sessionIds.size();
+                        if (!unreadable.isEmpty()) {
+                            // They would come back in every batch, so end the run and leave them for the next one
+                            throw new IllegalStateException("Failed to load " + unreadable.size()
+                                    + " expired sessions for the archive, kept them: " + unreadable);
+                        }
+                    } while (sessionIds.size() == batchSize);
+                }
+            }
+
+            if (contentMaxAgeDays > 0) {
+                LocalDateTime cutoff = startedAt.minusDays(contentMaxAgeDays);
+                int dropped;
+                do {
+                    dropped = repository.dropSessionContent(cutoff, batchSize);
+                    contentDropped += dropped;
+                } while (dropped == batchSize);
+            }
+
+            if (sessionsDeleted > 0 || contentDropped > 0) {
+                bytesReclaimed = repository.reclaimSpace();
+            }
+        } catch (Exception e) {
+            log.error("Session retention run failed", e);
+            error = e.getMessage();
+        }
+
+        totalSessionsDeleted.add(sessionsDeleted);
+        totalContentDropped.add(contentDropped);
+        totalBytesReclaimed.add(bytesReclaimed);
+        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        lastRun = new LastRun(startedAt, millis, sessionsDeleted, contentDropped, bytesReclaimed, archiveFile, error);
+        if (sessionsDeleted > 0 || contentDropped > 0) {
+            log.info("Session retention deleted {} sessions, dropped content of {}, reclaimed {} bytes in {} ms",
+                    sessionsDeleted, contentDropped, bytesReclaimed, millis);
+        }
+    }
+
+    public RetentionStatsResponse getStats() {
+        LastRun run = lastRun;
+        RetentionStatsResponse.RetentionStatsResponseBuilder stats = RetentionStatsResponse.builder()
+                .enabled(enabled)
+                .maxAgeDays(maxAgeDays)
+                .contentMaxAgeDays(contentMaxAgeDays)
+                .archiveDirectory(archiveDirectory != null ? archiveDirectory.toString() : null)
+                .totalSessionsDeleted(totalSessionsDeleted.sum())
+                .totalSessionsArchived(totalSessionsArchived.sum())
+                .totalContentDropped(totalContentDropped.sum())
+                .totalBytesReclaimed(totalBytesReclaimed.sum());
+        if (run != null) {
+            stats.lastRunAt(run.startedAt())
+                    .lastRunMillis(run.millis())
+                    .lastSessionsDeleted(run.sessionsDeleted())
+                    .lastContentDropped(run.contentDropped())
+                    .lastBytesReclaimed(run.bytesReclaimed())
+                    .lastArchiveFile(run.archiveFile() != null ? run.archiveFile().toString() : null)
+                    .lastError(run.error());
+        }
+        return stats.build();
+    }
+
+    /**
+     * Gzipped JSON lines file of one run's deleted sessions, created on the first write
+     */
+    private static final class SessionArchive implements Closeable {
+
+        private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+        private final Path file;
+        private FileOutputStream fileOut;
+        private OutputStream out;
+
+        SessionArchive(Path directory, LocalDateTime startedAt) {
+            this.file = directory.resolve("sessions-" + FILE_TIMESTAMP.format(startedAt) + ".jsonl.gz");
+        }
+
+        Path file() {
+            return file;
+        }
+
+        void write(List<AnalysisSession> sessions) throws IOException {
+            if (out == null) {
+                Files.createDirectories(file.getParent());
+                fileOut = new FileOutputStream(file.toFile(), true);
+                // Sync flush ends every batch on a complete deflate block, so the file stays readable
+                out = new GZIPOutputStream(fileOut, 64 * 1024, true);
+            }
+            for (AnalysisSession session : sessions) {
+                out.write(SessionDocument.MAPPER.writeValueAsBytes(SessionDocument.from(session)));
+                out.write('\n');
+            }
+            out.flush();
+            fileOut.getFD().sync();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (out != null) {
+                out.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,269 @@
+package com.buffer.repository;
+
+import com.buffer.domain.dto.common.SessionSummaryDto;
+import com.buffer.domain.dto.common.StorageStatsDto;
+import com.buffer.domain.dto.response.WriteBehindStatsResponse;
+import com.buffer.domain.entity.AnalysisSession;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Write-behind implementation of AnalysisSessionRepository.
+ * When enabled, storeSession only queues the session; a single writer thread drains the bounded
+ * queue and stores what has accumulated as one group-committed transaction, which suits SQLite's
+ * single writer. Queued sessions stay readable through getSession until they are written, and
+ * the queue is flushed on shutdown. When disabled, every call goes straight to the storage backend.
+ */
+@Slf4j
+@Component
+public class WriteBehindAnalysisSessionRepository implements AnalysisSessionRepository {
+
+    private static final long POLL_INTERVAL_MILLIS = 100;
+    private static final int MAX_RECENT_FAILURES = 20;
+
+    private final AnalysisSessionRepository delegate;
+    private final boolean enabled;
+    private final int queueCapacity;
+    private final int maxBatchSize;
+    private final long enqueueTimeoutMillis;
+    private final long shutdownTimeoutMillis;
+
+    private final BlockingQueue<PendingWrite> queue;
+    // Sessions accepted but not yet written, for read-your-writes
+    private final Map<String, AnalysisSession> pending = new ConcurrentHashMap<>();
+    private final Thread writer;
+    private volatile boolean running;
+
+    private final LongAdder batchesWritten = new LongAdder();
+    private final LongAdder sessionsWritten = new LongAdder();
+    private final LongAdder sessionsFailed = new LongAdder();
+    private final AtomicLong lastBatchSize = new AtomicLong();
+    private final AtomicLong lastBatchLagMillis = new AtomicLong();
+    // IDs of the most recent sessions that were accepted but could not be stored, newest last
+    private final ArrayDeque<String> recentFailures = new ArrayDeque<>(MAX_RECENT_FAILURES);
+
+    /**
+     * A queued session and when it was accepted
+     */
+    private record PendingWrite(AnalysisSession session, long enqueuedNanos) {}
+
+    @Autowired
+    public WriteBehindAnalysisSessionRepository(@Qualifier(STORAGE_BACKEND) AnalysisSessionRepository delegate,
+                                                @Value("${analysis.persistence.write-behind.enabled:false}") boolean enabled,
+                                                @Value("${analysis.persistence.write-behind.queue-capacity:1000}") int queueCapacity,
+                                                @Value("${analysis.persistence.write-behind.max-batch-size:50}") int maxBatchSize,
+                                                @Value("${analysis.persistence.write-behind.enqueue-timeout-seconds:5}") long enqueueTimeoutSeconds,
+                                                @Value("${analysis.persistence.write-behind.shutdown-timeout-seconds:30}") long shutdownTimeoutSeconds) {
+        this.delegate = delegate;
+        this.enabled = enabled;
+        this.queueCapacity = queueCapacity;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.enqueueTimeoutMillis = TimeUnit.SECONDS.toMillis(enqueueTimeoutSeconds);
+        this.shutdownTimeoutMillis = TimeUnit.SECONDS.toMillis(shutdownTimeoutSeconds);
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+        this.writer = new Thread(this::drainLoop, "session-writer");
+        if (enabled) {
+            running = true;
+            writer.start();
+        }
+    }
+
+    /**
+     * Stop accepting queued writes and wait for the writer to store everything already queued
+     */
+    @PreDestroy
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            writer.join(shutdownTimeoutMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writer.isAlive() || !queue.isEmpty()) {
+            log.warn("Session writer did not finish within {} ms, {} queued sessions were not stored",
+                    shutdownTimeoutMillis, queue.size());
+        } else {
+            log.info("Session writer flushed all queued sessions");
+        }
+    }
+
+    @Override
+    public void storeSession(AnalysisSession session) {
+        if (!running) {
+            delegate.storeSession(session);
+            return;
+        }
+
+        pending.put(session.getSessionId(), session);
+        boolean queued;
+        try {
+            // A full queue pushes back on callers rather than dropping sessions
+            queued = queue.offer(new PendingWrite(session, System.nanoTime()), enqueueTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            queued = false;
+        }
+        if (!queued) {
+            pending.remove(session.getSessionId(), session);
+            log.error("Write-behind queue is full, failed to store analysis session: {}", session.getSessionId());
+            throw new RuntimeException("Failed to store session");
+        }
+        log.debug("Queued analysis session: {} ({} queued)", session.getSessionId(), queue.size());
+    }
+
+    @Override
+    public AnalysisSession getSession(String sessionId) {
+        AnalysisSession queued = pending.get(sessionId);
+        return queued != null ? queued : delegate.getSession(sessionId);
+    }
+
+    /**
+     * Summaries come from the storage backend, so sessions still in the queue appear once written
+     */
+    @Override
+    public List<SessionSummaryDto> getSessionSummaries(SessionCursor after, int limit) {
+        return delegate.getSessionSummaries(after, limit);
+    }
+
+    @Override
+    public String getSessionContent(String sessionId) {
+        AnalysisSession queued = pending.get(sessionId);
+        return queued != null ? queued.getOriginalContent() : delegate.getSessionContent(sessionId);
+    }
+
+    @Override
+    public StorageStatsDto getStorageStats() {
+        return delegate.getStorageStats();
+    }
+
+    /**
+     * Retention only reaches sessions far older than anything still queued
+     */
+    @Override
+    public List<String> getSessionIdsCreatedBefore(LocalDateTime cutoff, int limit) {
+        return delegate.getSessionIdsCreatedBefore(cutoff, limit);
+    }
+
+    @Override
+    public void deleteSessions(Collection<String> sessionIds) {
+        delegate.deleteSessions(sessionIds);
+    }
+
+    @Override
+    public int dropSessionContent(LocalDateTime cutoff, int limit) {
+        return delegate.dropSessionContent(cutoff, limit);
+    }
+
+    @Override
+    public long reclaimSpace() {
+        return delegate.reclaimSpace();
+    }
+
+    public WriteBehindStatsResponse getStats() {
+        PendingWrite oldest = queue.peek();
+        return WriteBehindStatsResponse.builder()
+                .enabled(enabled)
+                .queueDepth(queue.size())
+                .queueCapacity(queueCapacity)
+                .pendingCount(pending.size())
+                .oldestQueuedAgeMillis(oldest != null ? elapsedMillis(oldest.enqueuedNanos()) : 0)
+                .lastBatchSize(lastBatchSize.get())
+                .lastBatchLagMillis(lastBatchLagMillis.get())
+                .batchesWritten(batchesWritten.sum())
+                .sessionsWritten(sessionsWritten.sum())
+                .sessionsFailed(sessionsFailed.sum())
+                .recentFailedSessionIds(recentFailedSessionIds())
+                .build();
+    }
+
+    private void drainLoop() {
+        List<PendingWrite> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingWrite first = queue.poll(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                // Whatever arrived while the previous group was being written goes into this one
+                batch.add(first);
+                queue.drainTo(batch, maxBatchSize - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("Session writer failed", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<PendingWrite> batch) {
+        List<AnalysisSession> sessions = batch.stream().map(PendingWrite::session).toList();
+        try {
+            delegate.storeSessions(sessions);
+            sessionsWritten.add(sessions.size());
+        } catch (Exception e) {
+            // The group was rolled back; store one by one so a single bad session does not lose the rest
+            log.warn("Group commit of {} sessions failed, storing them individually", sessions.size(), e);
+            for (AnalysisSession session : sessions) {
+                try {
+                    delegate.storeSession(session);
+                    sessionsWritten.increment();
+                } catch (Exception individual) {
+                    // The caller was already answered, so this session is lost
+                    log.error("Failed to store analysis session: {}", session.getSessionId(), individual);
+                    sessionsFailed.increment();
+                    recordFailure(session.getSessionId());
+                }
+            }
+        }
+
+        batchesWritten.increment();
+        lastBatchSize.set(batch.size());
+        lastBatchLagMillis.set(elapsedMillis(batch.get(0).enqueuedNanos()));
+        for (AnalysisSession session : sessions) {
+            pending.remove(session.getSessionId(), session);
+        }
+    }
+
+    private void recordFailure(String sessionId) {
+        synchronized (recentFailures) {
+            if (recentFailures.size() == MAX_RECENT_FAILURES) {
+                recentFailures.removeFirst();
+            }
+            recentFailures.addLast(sessionId);
+        }
+    }
+
+    private List<String> recentFailedSessionIds() {
+        synchronized (recentFailures) {
+            return List.copyOf(recentFailures);
+        }
+    }
+
+    private static long elapsedMillis(long sinceNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - sinceNanos);
+    }
+}
@@ -1,20 +1,44 @@
 package com.buffer.service;
 
 import com.buffer.domain.dto.common.IdeaDetailDto;
+import com.buffer.domain.dto.common.SessionSummaryDto;
+import com.buffer.domain.dto.common.StorageStatsDto;
 import com.buffer.domain.dto.request.ContentAnalysisRequest;
+import com.buffer.domain.dto.response.CacheStatsResponse;
+import com.buffer.domain.dto.response.ContentNormalizationStatsResponse;
 import com.buffer.domain.dto.response.ContentAnalysisResponse;
+import com.buffer.domain.dto.response.SessionsListResponse;
 
 import com.buffer.domain.dto.response.OpenAIAnalysisDto;
 import com.buffer.repository.AnalysisSessionRepository;
+import com.buffer.repository.SessionCursor;
 import com.buffer.domain.dto.common.OpenAIServiceResult;
 import com.buffer.domain.entity.*;
 import com.buffer.domain.enums.ContentAnalysisStatus;
-import com.fasterxml.jackson.core.JsonProcessingException;
+import com.buffer.integration.openai.OpenAIRateLimitException;
+import com.buffer.integration.openai.StreamingAnalysisParser;
+import com.buffer.integration.openai.TruncatedAnalysisException;
+import com.buffer.service.cache.AnalysisResultCache;
+import com.buffer.service.digest.ContentDigestService;
+import com.buffer.service.metrics.AnalysisMetrics;
+import com.buffer.service.metrics.AnalysisMetrics.FailureReason;
+import com.buffer.service.metrics.AnalysisMetrics.Stage;
+import com.buffer.service.preprocess.ContentNormalizer;
+import com.buffer.web.config.SchedulerConfig;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.*;
 
 /**
@@ -38,216 +62,487 @@ public class ContentAnalysisService {
         static final String INCOMPLETE_RESPONSE = "Received incomplete response from AI service. Please try again.";
         static final String AI_COULD_NOT_ANALYZE = "AI could not analyze content";
         static final String CONTENT_ANALYZED_SUCCESSFULLY = "Content analyzed successfully";
+        static final String SERVICE_BUSY = "AI service is busy right now. Please try again in a moment.";
+        static final String INVALID_CURSOR = "Invalid session cursor - use the nextCursor value of a previous page.";
         
         static final String ANALYSIS_ERROR_PREFIX = "Analysis error: ";
         static final String PARSE_AI_RESPONSE_PREFIX = "Failed to parse AI response: ";
+        static final String CONDENSE_CONTENT_PREFIX = "Failed to condense long content: ";
         
         static final String INCOMPLETE_RESPONSE_KEYWORD = "incomplete response";
     }
     
+    // Server-Sent Event names of the streaming endpoint
+    private static final class StreamEvents {
+        static final String SUMMARY = "summary";
+        static final String IDEA = "idea";
+        static final String COMPLETE = "complete";
+        static final String ERROR = "error";
+    }
+    
     // Log message templates
     private static final class LogMessages {
         static final String EARLY_RETURN = "EARLY RETURN: Empty or null content received for URL: {} (content: [{}], length: {})";
         static final String OPENAI_FAILED = "OpenAI analysis failed for session: {} - {}";
         static final String ERROR_ANALYZING = "Error analyzing screen content: {}";
         static final String INVALID_JSON = "Invalid or truncated JSON response detected. {}";
-        static final String PARSE_FAILED = "Failed to parse AI analysis response: {} | Content length: {} ";
-        static final String JSON_NULL_EMPTY = "JSON content is null or empty";
-        static final String JSON_STRUCTURE = "JSON doesn't start with {{ or end with }}: {}";
-        static final String UNBALANCED_JSON = "Unbalanced JSON structure: braces={}, brackets={}";
-        static final String JSON_VALIDATION_FAILED = "JSON structure validation failed: {}";
+        static final String PARSE_FAILED = "Failed to parse AI analysis response: {}";
+        static final String CONDENSE_FAILED = "Failed to condense content for session: {} - {}";
     }
 
     private final OpenAIService openAIService;
     private final AnalysisSessionRepository repository;
+    private final AnalysisResultCache analysisResultCache;
+    private final ContentDigestService contentDigestService;
+    private final ContentNormalizer contentNormalizer;
+    private final Scheduler persistenceScheduler;
+    private final AnalysisMetrics metrics;
     private final ObjectMapper objectMapper;
+    private final int defaultPageSize;
+    private final int maxPageSize;
     
     @Autowired
-    public ContentAnalysisService(OpenAIService openAIService, AnalysisSessionRepository repository) {
+    public ContentAnalysisService(OpenAIService openAIService, AnalysisSessionRepository repository,
+                                  AnalysisResultCache analysisResultCache, ContentDigestService contentDigestService,
+                                  ContentNormalizer contentNormalizer,
+                                  @Qualifier(SchedulerConfig.PERSISTENCE_SCHEDULER) Scheduler persistenceScheduler,
+                                  AnalysisMetrics metrics,
+                                  @Value("${monitoring.sessions.default-page-size:20}") int defaultPageSize,
+                                  @Value("${monitoring.sessions.max-page-size:100}") int maxPageSize) {
         this.openAIService = openAIService;
         this.repository = repository;
+        this.analysisResultCache = analysisResultCache;
+        this.contentDigestService = contentDigestService;
+        this.contentNormalizer = contentNormalizer;
+        this.persistenceScheduler = persistenceScheduler;
+        this.metrics = metrics;
         this.objectMapper = new ObjectMapper();
+        this.maxPageSize = Math.max(1, maxPageSize);
+        this.defaultPageSize = Math.max(1, Math.min(defaultPageSize, this.maxPageSize));
     }
     
     /**
      * Process screen content and generate structured ideas by channel
      */
     public ContentAnalysisResponse analyzeScreenContent(ContentAnalysisRequest request) {
+        Timer.Sample sample = metrics.startTimer();
+        ContentAnalysisResponse response = analyze(request);
+        metrics.recordRequest(sample, AnalysisMetrics.ENDPOINT_CONTEXT, response);
+        return response;
+    }
+    
+    private ContentAnalysisResponse analyze(ContentAnalysisRequest request) {
 
-        if (request.getFullText() == null || request.getFullText().trim().isEmpty()) {
-            log.warn(LogMessages.EARLY_RETURN, 
-                       request.getUrl(), 
-                       request.getFullText(),
-                       request.getFullText().length());
-            return createFailureResponse("", Messages.NO_CONTENT);
+        if (!hasContent(request)) {
+            return noContentResponse(request);
         }
 
         try {
-            String sessionId = openAIService.generateChatId();
-            AnalysisSession session = AnalysisSession.fromContentAnalysisRequest(request, sessionId);
+            AnalysisSession session = createSession(request);
+            String sessionId = session.getSessionId();
 
-            OpenAIServiceResult aiResponse;
+            int budget = contentDigestService.getMaxInputTokens();
+            String cacheKey = openAIService.buildCacheKey(session, request.getChannels(), budget);
+            OpenAIServiceResult aiResponse = requestAnalysis(cacheKey, session, request.getChannels(), budget);
             
-            // Tradeoff between availability and accuracy - truncating long content for higher success rate with OpenAI
-            if (session.getOriginalContent().length() > com.buffer.web.config.AIConstants.MAX_CONTENT_LENGTH) {
-                session.setOriginalContent(session.getOriginalContent().substring(0, com.buffer.web.config.AIConstants.TRUNCATED_CONTENT_LENGTH));
-            }
-
-            if (request.getChannels() != null && !request.getChannels().isEmpty()) {
-                aiResponse = openAIService.analyzeContentForIdeas(session, request.getChannels());
-            } else {
-                aiResponse = openAIService.analyzeContentForIdeas(session);
-            }
-            
-            if (aiResponse.isSuccess()) {
+            if (hasAnalysisOutput(aiResponse)) {
                 ContentAnalysisResponse response = parseAndStoreAnalysis(aiResponse, session);
+                invalidateOnFailure(cacheKey, response);
                 
-                // If parsing failed due to truncated response, try once more with shorter content
-                if (response.getStatus() == ContentAnalysisStatus.FAILURE && 
-                    response.getSummary().contains(Messages.INCOMPLETE_RESPONSE_KEYWORD) &&
-                    session.getOriginalContent().length() > com.buffer.web.config.AIConstants.TRUNCATED_CONTENT_LENGTH) {
-                    session.setOriginalContent(session.getOriginalContent().substring(0, com.buffer.web.config.AIConstants.TRUNCATED_CONTENT_LENGTH));
+                // If parsing failed due to truncated response, try once more with more condensed content
+                if (shouldRetryWithCondensedContent(response, session)) {
+                    metrics.recordTruncationFallback();
+                    int retryBudget = contentDigestService.getRetryInputTokens();
+                    String retryCacheKey = openAIService.buildCacheKey(session, request.getChannels(), retryBudget);
+                    OpenAIServiceResult retryResponse = requestAnalysis(retryCacheKey, session, request.getChannels(), retryBudget);
                     
-                    OpenAIServiceResult retryResponse;
-                    if (request.getChannels() != null && !request.getChannels().isEmpty()) {
-                        retryResponse = openAIService.analyzeContentForIdeas(session, request.getChannels());
-                    } else {
-                        retryResponse = openAIService.analyzeContentForIdeas(session);
-                    }
-                    
-                    if (retryResponse.isSuccess()) {
-                        return parseAndStoreAnalysis(retryResponse, session);
+                    if (hasAnalysisOutput(retryResponse)) {
+                        ContentAnalysisResponse retryResult = parseAndStoreAnalysis(retryResponse, session);
+                        invalidateOnFailure(retryCacheKey, retryResult);
+                        return retryResult;
                     }
                 }
                 
                 return response;
             } else {
                 log.warn(LogMessages.OPENAI_FAILED, sessionId, aiResponse.getErrorMessage());
-                return createFailureResponse(sessionId, Messages.ANALYSIS_ERROR_PREFIX + aiResponse.getErrorMessage());
+                return createUnsuccessfulResponse(sessionId, aiResponse);
             }
             
         } catch (Exception e) {
             log.error(LogMessages.ERROR_ANALYZING, e.getMessage(), e);
+            metrics.recordFailure(FailureReason.UNEXPECTED);
             return createFailureResponse("", Messages.ANALYSIS_ERROR_PREFIX + e.getMessage());
         }
     }
     
     /**
-     * Parse AI response and store the structured data
+     * Non-blocking variant of analyzeScreenContent. No thread is held while OpenAI generates the
+     * response; the session is persisted on the bounded persistence scheduler.
      */
-    private ContentAnalysisResponse parseAndStoreAnalysis(OpenAIServiceResult aiResponse, AnalysisSession session) {
-        try {
-            String jsonContent = aiResponse.getContent();
+    public Mono<ContentAnalysisResponse> analyzeScreenContentAsync(ContentAnalysisRequest request) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = metrics.startTimer();
+            return analyzeAsync(request)
+                    .doOnNext(response -> metrics.recordRequest(sample, AnalysisMetrics.ENDPOINT_CONTEXT, response));
+        });
+    }
+    
+    private Mono<ContentAnalysisResponse> analyzeAsync(ContentAnalysisRequest request) {
+
+        if (!hasContent(request)) {
+            return Mono.just(noContentResponse(request));
+        }
+
+        return Mono.defer(() -> {
+            AnalysisSession session = createSession(request);
+            String sessionId = session.getSessionId();
+
+            int budget = contentDigestService.getMaxInputTokens();
+            String cacheKey = openAIService.buildCacheKey(session, request.getChannels(), budget);
+            return requestAnalysisAsync(cacheKey, session, request.getChannels(), budget)
+                    .flatMap(aiResponse -> {
+                        if (!hasAnalysisOutput(aiResponse)) {
+                            log.warn(LogMessages.OPENAI_FAILED, sessionId, aiResponse.getErrorMessage());
+                            return Mono.just(createUnsuccessfulResponse(sessionId, aiResponse));
+                        }
+                        return parseAndStoreAnalysisAsync(aiResponse, session)
+                                .doOnNext(response -> invalidateOnFailure(cacheKey, response))
+                                .flatMap(response -> {
+                                    // If parsing failed due to truncated response, try once more with more condensed content
+                                    if (!shouldRetryWithCondensedContent(response, session)) {
+                                        return Mono.just(response);
+                                    }
+                                    metrics.recordTruncationFallback();
 
-            // Additional safety net to check valid json despite using structured output
-            if (!isValidJsonStructure(jsonContent)) {
-                log.error(LogMessages.INVALID_JSON, jsonContent);
-                return createFailureResponse(session.getSessionId(), 
-                    Messages.INCOMPLETE_RESPONSE);
+                                    int retryBudget = contentDigestService.getRetryInputTokens();
+                                    String retryCacheKey = openAIService.buildCacheKey(session, request.getChannels(), retryBudget);
+                                    return requestAnalysisAsync(retryCacheKey, session, request.getChannels(), retryBudget)
+                                            .flatMap(retryResponse -> hasAnalysisOutput(retryResponse)
+                                                    ? parseAndStoreAnalysisAsync(retryResponse, session)
+                                                            .doOnNext(retryResult -> invalidateOnFailure(retryCacheKey, retryResult))
+                                                    : Mono.just(response));
+                                });
+                    });
+        }).onErrorResume(e -> {
+            log.error(LogMessages.ERROR_ANALYZING, e.getMessage(), e);
+            metrics.recordFailure(FailureReason.UNEXPECTED);
+            return Mono.just(createFailureResponse("", Messages.ANALYSIS_ERROR_PREFIX + e.getMessage()));
+        });
+    }
+    
+    /**
+     * Stream the analysis as Server-Sent Events: the summary first, then every idea as soon as
+     * the model has finished generating it, and finally the complete response once the session
+     * has been persisted. Failures are reported as a single error event.
+     */
+    public Flux<ServerSentEvent<Object>> streamScreenContent(ContentAnalysisRequest request) {
+        return Flux.defer(() -> {
+            Timer.Sample sample = metrics.startTimer();
+            return stream(request).doOnNext(event -> {
+                boolean last = StreamEvents.COMPLETE.equals(event.event()) || StreamEvents.ERROR.equals(event.event());
+                if (last && event.data() instanceof ContentAnalysisResponse response) {
+                    metrics.recordRequest(sample, AnalysisMetrics.ENDPOINT_STREAM, response);
+                }
+            });
+        });
+    }
+    
+    private Flux<ServerSentEvent<Object>> stream(ContentAnalysisRequest request) {
+
+        if (!hasContent(request)) {
+            return Flux.just(streamEvent(StreamEvents.ERROR, noContentResponse(request)));
+        }
+
+        return Flux.defer(() -> {
+            AnalysisSession session = createSession(request);
+            String sessionId = session.getSessionId();
+            int budget = contentDigestService.getMaxInputTokens();
+            String cacheKey = openAIService.buildCacheKey(session, request.getChannels(), budget);
+
+            // A cached result is replayed as the same sequence of events a live stream produces
+            OpenAIServiceResult cached = analysisResultCache.get(cacheKey);
+            if (cached != null) {
+                return Flux.fromIterable(replayEvents(sessionId, cached.getAnalysis()))
+                        .concatWith(Mono.defer(() -> completeStream(cached.getAnalysis(), session, cacheKey)));
             }
-            
-            OpenAIAnalysisDto aiData = objectMapper.readValue(jsonContent, OpenAIAnalysisDto.class);
-            
-            String aiStatus = aiData.getStatus();
-            String summary = aiData.getSummary();
-            
-            if (!ContentAnalysisStatus.SUCCESS.name().equals(aiStatus)) {
-                return createFailureResponse(session.getSessionId(), 
-                    summary != null ? summary : Messages.AI_COULD_NOT_ANALYZE);
+
+            List<ServerSentEvent<Object>> parsedEvents = new ArrayList<>();
+            StreamingAnalysisParser parser = createStreamingParser(sessionId, parsedEvents);
+
+            return metrics.time(Stage.CONDENSE, contentDigestService.prepareInput(session, budget))
+                    .flatMapMany(input -> openAIService.streamContentForIdeas(session, input, request.getChannels()))
+                    .concatMapIterable(delta -> {
+                        feedStreamingParser(parser, delta);
+                        List<ServerSentEvent<Object>> ready = new ArrayList<>(parsedEvents);
+                        parsedEvents.clear();
+                        return ready;
+                    })
+                    .concatWith(Mono.defer(() -> finishStream(parser, session, cacheKey)));
+        }).onErrorResume(e -> {
+            if (e instanceof OpenAIRateLimitException) {
+                log.warn(LogMessages.OPENAI_FAILED, "", e.getMessage());
+                metrics.recordFailure(FailureReason.RATE_LIMITED);
+                return Mono.just(streamEvent(StreamEvents.ERROR, createTimeoutResponse("")));
             }
-            
-            Map<String, List<IdeaDetailDto>> channelsData = aiData.getChannels();
-            if (channelsData != null) {
-                parseChannelsStructure(session, channelsData);
+            log.error(LogMessages.ERROR_ANALYZING, e.getMessage(), e);
+            metrics.recordFailure(FailureReason.STREAM_ERROR);
+            return Mono.just(streamEvent(StreamEvents.ERROR,
+                    createFailureResponse("", Messages.ANALYSIS_ERROR_PREFIX + e.getMessage())));
+        });
+    }
+    
+    private StreamingAnalysisParser createStreamingParser(String sessionId, List<ServerSentEvent<Object>> parsedEvents) {
+        return new StreamingAnalysisParser(objectMapper, new StreamingAnalysisParser.Listener() {
+            @Override
+            public void onSummary(String summary) {
+                parsedEvents.add(summaryEvent(sessionId, summary));
             }
-            
-            session.setSummary(summary != null ? summary : Messages.CONTENT_ANALYZED_SUCCESSFULLY);
-            
-            repository.storeSession(session);
-            
-            return buildSuccessResponse(session, summary);
-            
-        } catch (JsonProcessingException e) {
-            String content = aiResponse.getContent();
-            log.error(LogMessages.PARSE_FAILED, e.getMessage(), content.length());
-            return createFailureResponse(session.getSessionId(), Messages.PARSE_AI_RESPONSE_PREFIX + e.getMessage());
+
+            @Override
+            public void onIdea(String channel, IdeaDetailDto idea) {
+                parsedEvents.add(streamEvent(StreamEvents.IDEA, idea));
+            }
+        });
+    }
+    
+    private List<ServerSentEvent<Object>> replayEvents(String sessionId, OpenAIAnalysisDto aiData) {
+        List<ServerSentEvent<Object>> events = new ArrayList<>();
+        events.add(summaryEvent(sessionId, aiData.getSummary()));
+        if (aiData.getChannels() != null) {
+            aiData.getChannels().forEach((channel, ideas) -> ideas.forEach(idea -> {
+                IdeaDetailDto streamed = IdeaDetailDto.builder()
+                        .channel(channel)
+                        .idea(idea.getIdea())
+                        .rationale(idea.getRationale())
+                        .pros(idea.getPros())
+                        .cons(idea.getCons())
+                        .build();
+                events.add(streamEvent(StreamEvents.IDEA, streamed));
+            }));
+        }
+        return events;
+    }
+    
+    private ServerSentEvent<Object> summaryEvent(String sessionId, String summary) {
+        ContentAnalysisResponse partial = new ContentAnalysisResponse();
+        partial.setStatus(ContentAnalysisStatus.SUCCESS);
+        partial.setChatID(sessionId);
+        partial.setSummary(summary);
+        partial.setChannels(new LinkedHashMap<>());
+        return streamEvent(StreamEvents.SUMMARY, partial);
+    }
+    
+    private void feedStreamingParser(StreamingAnalysisParser parser, String delta) {
+        try {
+            parser.feed(delta);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
     }
     
     /**
-     * Validate JSON structure to detect truncated or malformed responses
+     * Finish parsing a streamed analysis and complete the stream with it
      */
-    private boolean isValidJsonStructure(String jsonContent) {
-        if (jsonContent == null || jsonContent.trim().isEmpty()) {
-            log.warn(LogMessages.JSON_NULL_EMPTY);
-            return false;
+    private Mono<ServerSentEvent<Object>> finishStream(StreamingAnalysisParser parser, AnalysisSession session, String cacheKey) {
+        OpenAIAnalysisDto aiData;
+        try {
+            aiData = parser.finish();
+        } catch (TruncatedAnalysisException e) {
+            log.error(LogMessages.INVALID_JSON, e.getMessage());
+            metrics.recordFailure(FailureReason.TRUNCATED);
+            return Mono.just(streamEvent(StreamEvents.ERROR,
+                    createFailureResponse(session.getSessionId(), Messages.INCOMPLETE_RESPONSE)));
+        } catch (IOException e) {
+            log.error(LogMessages.PARSE_FAILED, e.getMessage());
+            metrics.recordFailure(FailureReason.PARSE_ERROR);
+            return Mono.just(streamEvent(StreamEvents.ERROR,
+                    createFailureResponse(session.getSessionId(), Messages.PARSE_AI_RESPONSE_PREFIX + e.getMessage())));
         }
-        
-        String trimmed = jsonContent.trim();
-        
-        // Basic structure checks
-        if (!trimmed.startsWith("{") || !trimmed.endsWith("}")) {
-            log.warn(LogMessages.JSON_STRUCTURE, trimmed);
-            return false;
+        analysisResultCache.put(cacheKey, OpenAIServiceResult.success(aiData));
+        return completeStream(aiData, session, cacheKey);
+    }
+    
+    /**
+     * Apply the analysis, then persist the session and emit the complete response
+     */
+    private Mono<ServerSentEvent<Object>> completeStream(OpenAIAnalysisDto aiData, AnalysisSession session, String cacheKey) {
+        ContentAnalysisResponse response = metrics.time(Stage.BUILD_RESPONSE, () -> applyAnalysis(aiData, session));
+        if (response.getStatus() != ContentAnalysisStatus.SUCCESS) {
+            analysisResultCache.invalidate(cacheKey);
+            return Mono.just(streamEvent(StreamEvents.ERROR, response));
+        }
+
+        return Mono.fromRunnable(() -> persist(session))
+                .subscribeOn(persistenceScheduler)
+                .thenReturn(streamEvent(StreamEvents.COMPLETE, response));
+    }
+    
+    private ServerSentEvent<Object> streamEvent(String name, Object data) {
+        return ServerSentEvent.builder(data).event(name).build();
+    }
+    
+    /**
+     * Whether the AI call produced output worth parsing; truncated output is parsed so it can trigger the shorter-content retry
+     */
+    private boolean hasAnalysisOutput(OpenAIServiceResult aiResponse) {
+        return aiResponse.isSuccess() || aiResponse.isTruncated();
+    }
+    
+    private boolean hasContent(ContentAnalysisRequest request) {
+        return request.getFullText() != null && !request.getFullText().trim().isEmpty();
+    }
+    
+    private ContentAnalysisResponse noContentResponse(ContentAnalysisRequest request) {
+        metrics.recordFailure(FailureReason.NO_CONTENT);
+        log.warn(LogMessages.EARLY_RETURN, 
+                   request.getUrl(), 
+                   request.getFullText(),
+                   request.getFullText().length());
+        return createFailureResponse("", Messages.NO_CONTENT);
+    }
+    
+    /**
+     * Create the session for a request from its normalized content, cut to the page ceiling; the content is condensed only as model input
+     */
+    private AnalysisSession createSession(ContentAnalysisRequest request) {
+        String sessionId = openAIService.generateChatId();
+        AnalysisSession session = AnalysisSession.fromContentAnalysisRequest(request, sessionId);
+        String content = metrics.time(Stage.NORMALIZE, () -> contentNormalizer.normalize(request));
+        content = contentDigestService.limitPageContent(content, sessionId);
+        metrics.recordContentLength(content.length());
+        session.setOriginalContent(content);
+        return session;
+    }
+    
+    private boolean shouldRetryWithCondensedContent(ContentAnalysisResponse response, AnalysisSession session) {
+        return response.getStatus() == ContentAnalysisStatus.FAILURE && 
+               response.getSummary().contains(Messages.INCOMPLETE_RESPONSE_KEYWORD) &&
+               contentDigestService.exceedsRetryBudget(session);
+    }
+    
+    /**
+     * A cached AI result that could not be turned into a successful response must not be served again
+     */
+    private void invalidateOnFailure(String cacheKey, ContentAnalysisResponse response) {
+        if (response.getStatus() == ContentAnalysisStatus.FAILURE) {
+            analysisResultCache.invalidate(cacheKey);
+        }
+    }
+    
+    /**
+     * Run the AI analysis for a session, answering from the result cache when the same
+     * content was recently analyzed for the same channels and prompt inputs, and joining
+     * an identical analysis that is already in flight
+     */
+    private OpenAIServiceResult requestAnalysis(String cacheKey, AnalysisSession session, List<String> channels, int budget) {
+        return analysisResultCache.getOrLoad(cacheKey, () -> analyzeWithinBudget(session, channels, budget).block());
+    }
+    
+    private Mono<OpenAIServiceResult> requestAnalysisAsync(String cacheKey, AnalysisSession session, List<String> channels, int budget) {
+        return analysisResultCache.getOrLoadAsync(cacheKey, () -> analyzeWithinBudget(session, channels, budget));
+    }
+    
+    /**
+     * Condense long content to the token budget, then generate ideas from it
+     */
+    private Mono<OpenAIServiceResult> analyzeWithinBudget(AnalysisSession session, List<String> channels, int budget) {
+        return metrics.time(Stage.CONDENSE, contentDigestService.prepareInput(session, budget))
+                .flatMap(input -> openAIService.analyzeContentForIdeasAsync(session, input, channels))
+                .onErrorResume(OpenAIRateLimitException.class, e -> {
+                    metrics.recordFailure(FailureReason.RATE_LIMITED);
+                    return Mono.just(OpenAIServiceResult.rejected(e.getMessage()));
+                })
+                .onErrorResume(e -> {
+                    // Analysis errors are already returned as failed results, so this failed while condensing
+                    log.error(LogMessages.CONDENSE_FAILED, session.getSessionId(), e.getMessage());
+                    metrics.recordFailure(FailureReason.CONDENSE_ERROR);
+                    return Mono.just(OpenAIServiceResult.failure(Messages.CONDENSE_CONTENT_PREFIX + e.getMessage()));
+                });
+    }
+    
+    /**
+     * Parse AI response and store the structured data
+     */
+    private ContentAnalysisResponse parseAndStoreAnalysis(OpenAIServiceResult aiResponse, AnalysisSession session) {
+        ContentAnalysisResponse response = parseAnalysis(aiResponse, session);
+        if (response.getStatus() == ContentAnalysisStatus.SUCCESS) {
+            storeSession(session);
+        }
+        return response;
+    }
+    
+    /**
+     * Store a session from the blocking path. On a virtual thread the write is handed to the
+     * platform-thread persistence pool, because the SQLite driver's synchronized sections would
+     * otherwise pin the carrier thread for the duration of the write.
+     */
+    private void storeSession(AnalysisSession session) {
+        if (Thread.currentThread().isVirtual()) {
+            Mono.fromRunnable(() -> persist(session))
+                    .subscribeOn(persistenceScheduler)
+                    .block();
+        } else {
+            persist(session);
+        }
+    }
+    
+    private void persist(AnalysisSession session) {
+        metrics.time(Stage.PERSIST, () -> repository.storeSession(session));
+    }
+    
+    /**
+     * Parse AI response and store the structured data without blocking the calling thread
+     */
+    private Mono<ContentAnalysisResponse> parseAndStoreAnalysisAsync(OpenAIServiceResult aiResponse, AnalysisSession session) {
+        ContentAnalysisResponse response = parseAnalysis(aiResponse, session);
+        if (response.getStatus() != ContentAnalysisStatus.SUCCESS) {
+            return Mono.just(response);
+        }
+        return Mono.fromRunnable(() -> persist(session))
+                .subscribeOn(persistenceScheduler)
+                .thenReturn(response);
+    }
+    
+    /**
+     * Parse AI response into the session's channels and ideas
+     */
+    private ContentAnalysisResponse parseAnalysis(OpenAIServiceResult aiResponse, AnalysisSession session) {
+        // Additional safety net: structured output can still be cut off at the output token limit
+        if (aiResponse.isTruncated()) {
+            log.error(LogMessages.INVALID_JSON, aiResponse.getErrorMessage());
+            return createFailureResponse(session.getSessionId(), 
+                Messages.INCOMPLETE_RESPONSE);
         }
         
-        // Check for balanced braces and brackets
-        int braceCount = 0;
-        int bracketCount = 0;
-        boolean inString = false;
-        boolean escaped = false;
+        return metrics.time(Stage.BUILD_RESPONSE, () -> applyAnalysis(aiResponse.getAnalysis(), session));
+    }
+    
+    /**
+     * Apply parsed AI output to the session's channels and ideas
+     */
+    private ContentAnalysisResponse applyAnalysis(OpenAIAnalysisDto aiData, AnalysisSession session) {
+        String aiStatus = aiData.getStatus();
+        String summary = aiData.getSummary();
         
-        for (int i = 0; i < trimmed.length(); i++) {
-            char c = trimmed.charAt(i);
-            
-            if (escaped) {
-                escaped = false;
-                continue;
-            }
-            
-            if (c == '\\') {
-                escaped = true;
-                continue;
-            }
-            
-            if (c == '"' && !escaped) {
-                inString = !inString;
-                continue;
-            }
-            
-            if (!inString) {
-                switch (c) {
-                    case '{':
-                        braceCount++;
-                        break;
-                    case '}':
-                        braceCount--;
-                        break;
-                    case '[':
-                        bracketCount++;
-                        break;
-                    case ']':
-                        bracketCount--;
-                        break;
-                }
-            }
+        if (!ContentAnalysisStatus.SUCCESS.name().equals(aiStatus)) {
+            metrics.recordFailure(FailureReason.DECLINED);
+            return createFailureResponse(session.getSessionId(), 
+                summary != null ? summary : Messages.AI_COULD_NOT_ANALYZE);
         }
         
-        if (braceCount != 0 || bracketCount != 0) {
-            log.warn(LogMessages.UNBALANCED_JSON, braceCount, bracketCount);
-            return false;
+        Map<String, List<IdeaDetailDto>> channelsData = aiData.getChannels();
+        if (channelsData != null) {
+            parseChannelsStructure(session, channelsData);
         }
         
-        // Additional check: try to parse with ObjectMapper to catch subtle JSON errors
-        try {
-            objectMapper.readTree(trimmed);
-            return true;
-        } catch (JsonProcessingException e) {
-            log.warn(LogMessages.JSON_VALIDATION_FAILED, e.getMessage());
-            return false;
-        }
+        session.setSummary(summary != null ? summary : Messages.CONTENT_ANALYZED_SUCCESSFULLY);
+        
+        ContentAnalysisResponse response = buildSuccessResponse(session, summary);
+        response.setFailedChannels(aiData.getFailedChannels());
+        return response;
     }
-
+    
     /**
      * Parse channels structure from AI response
      */
@@ -280,7 +575,7 @@ public class ContentAnalysisService {
     /**
      * Build successful response
      */
-    private ContentAnalysisResponse buildSuccessResponse(AnalysisSession session, String summary) {
+    private static ContentAnalysisResponse buildSuccessResponse(AnalysisSession session, String summary) {
         ContentAnalysisResponse response = new ContentAnalysisResponse();
         response.setStatus(ContentAnalysisStatus.SUCCESS);
         response.setChatID(session.getSessionId());
@@ -304,6 +599,22 @@ public class ContentAnalysisService {
         return response;
     }
     
+    /**
+     * Create the response for an AI call that produced no output; calls shed by the rate limiter time out
+     */
+    private ContentAnalysisResponse createUnsuccessfulResponse(String sessionId, OpenAIServiceResult aiResponse) {
+        if (aiResponse.isRejected()) {
+            return createTimeoutResponse(sessionId);
+        }
+        return createFailureResponse(sessionId, Messages.ANALYSIS_ERROR_PREFIX + aiResponse.getErrorMessage());
+    }
+    
+    private ContentAnalysisResponse createTimeoutResponse(String sessionId) {
+        ContentAnalysisResponse response = createFailureResponse(sessionId, Messages.SERVICE_BUSY);
+        response.setStatus(ContentAnalysisStatus.TIMEOUT);
+        return response;
+    }
+    
     /**
      * Create failure response
      */
@@ -324,9 +635,62 @@ public class ContentAnalysisService {
     }
     
     /**
-     * Get all sessions (for monitoring)
+     * Get analysis result cache statistics (for monitoring)
+     */
+    public CacheStatsResponse getAnalysisCacheStats() {
+        return analysisResultCache.getStats();
+    }
+    
+    /**
+     * Get content normalization savings (for monitoring)
+     */
+    public ContentNormalizationStatsResponse getContentNormalizationStats() {
+        return contentNormalizer.getStats();
+    }
+    
+    /**
+     * Get one page of session summaries, newest first (for monitoring)
+     */
+    public SessionsListResponse getSessionSummaries(String cursor, Integer limit) {
+        SessionCursor after;
+        try {
+            after = cursor == null || cursor.isBlank() ? null : SessionCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            return SessionsListResponse.builder()
+                    .status("INVALID_CURSOR")
+                    .sessions(List.of())
+                    .message(Messages.INVALID_CURSOR)
+                    .build();
+        }
+        
+        int pageSize = limit == null ? defaultPageSize : Math.max(1, Math.min(limit, maxPageSize));
+        // One extra row tells whether another page follows without a COUNT over all sessions
+        List<SessionSummaryDto> sessions = repository.getSessionSummaries(after, pageSize + 1);
+        String nextCursor = null;
+        if (sessions.size() > pageSize) {
+            sessions = sessions.subList(0, pageSize);
+            nextCursor = SessionCursor.after(sessions.get(pageSize - 1)).encode();
+        }
+        
+        return SessionsListResponse.builder()
+                .status("SUCCESS")
+                .sessionCount(sessions.size())
+                .sessions(sessions)
+                .nextCursor(nextCursor)
+                .build();
+    }
+    
+    /**
+     * Get the stored page content of a session (for monitoring)
+     */
+    public String getSessionContent(String sessionId) {
+        return repository.getSessionContent(sessionId);
+    }
+    
+    /**
+     * Get aggregate storage statistics (for monitoring)
      */
-    public List<AnalysisSession> getAllSessions() {
-        return repository.getAllSessions();
+    public StorageStatsDto getStorageStats() {
+        return repository.getStorageStats();
     }
 } 
\ No newline at end of file
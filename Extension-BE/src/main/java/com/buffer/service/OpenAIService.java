@@ -1,22 +1,46 @@
 package com.buffer.service;
 
+import com.buffer.domain.dto.common.IdeaDetailDto;
 import com.buffer.domain.dto.common.OpenAIServiceResult;
 import com.buffer.domain.dto.response.OpenAIAnalysisDto;
 import com.buffer.domain.entity.*;
+import com.buffer.domain.enums.ContentAnalysisStatus;
 import com.buffer.web.config.AIConstants;
 
 import com.buffer.util.IdGenerator;
 import com.buffer.integration.openai.JsonSchemaBuilder;
+import com.buffer.integration.openai.OpenAIRateLimitException;
+import com.buffer.integration.openai.OpenAIRateLimiter;
+import com.buffer.integration.openai.OpenAIRequestHedger;
+import com.buffer.integration.openai.ResponsesPayloadReader;
+import com.buffer.integration.openai.StreamingAnalysisParser;
+import com.buffer.integration.openai.TokenCounter;
+import com.buffer.integration.openai.TruncatedAnalysisException;
+import com.buffer.service.cache.AnalysisCacheKey;
+import com.buffer.service.metrics.AnalysisMetrics;
+import com.buffer.service.metrics.AnalysisMetrics.FailureReason;
+import com.buffer.service.metrics.AnalysisMetrics.Stage;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 import reactor.util.retry.Retry;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.TimeoutException;
 
 /**
  * OpenAI Integration Service
@@ -41,19 +65,37 @@ public class OpenAIService {
     private static final String FIELD_TEXT = "text";
     private static final String FIELD_FORMAT = "format";
     private static final String FIELD_TEMPERATURE = "temperature";
-    private static final String FIELD_OUTPUT = "output";
-    private static final String FIELD_MESSAGE = "message";
-    private static final String FIELD_CONTENT = "content";
-    private static final String FIELD_VALUE = "value";
-    private static final String FIELD_STATUS = "status";
+    private static final String FIELD_MAX_OUTPUT_TOKENS = "max_output_tokens";
     private static final String FIELD_ERROR = "error";
+    private static final String FIELD_STREAM = "stream";
+    private static final String FIELD_TYPE = "type";
+    private static final String FIELD_DELTA = "delta";
+    private static final String FIELD_RESPONSE = "response";
+    private static final String FIELD_USAGE = "usage";
+    private static final String FIELD_INPUT_TOKENS = "input_tokens";
+    private static final String FIELD_OUTPUT_TOKENS = "output_tokens";
+
+    // Streaming event types of the Responses API
+    private static final String EVENT_OUTPUT_TEXT_DELTA = "response.output_text.delta";
+    private static final String EVENT_RESPONSE_FAILED = "response.failed";
+    private static final String EVENT_RESPONSE_COMPLETED = "response.completed";
+    private static final String EVENT_RESPONSE_INCOMPLETE = "response.incomplete";
+    private static final String EVENT_ERROR = "error";
 
     // Response format constants
     private static final String JSON_SCHEMA_TYPE = "json_schema";
+    private static final String TEXT_TYPE = "text";
 
     // Error messages
     private static final String ERROR_EMPTY_RESPONSE = "Failed to get response from OpenAI after retries";
     private static final String ERROR_PLAIN_TEXT_RESPONSE = "OpenAI failed to return structured data. Received plain text response instead of JSON.";
+    private static final String ERROR_NO_CONTENT = "No content provided for analysis";
+    private static final String ERROR_STREAM_FAILED = "OpenAI streaming response failed: ";
+    private static final String ERROR_PARSE_PREFIX = "Failed to parse AI response: ";
+    private static final String ERROR_CHANNEL_TIMEOUT = "OpenAI call timed out for channel ";
+    private static final String ERROR_EMPTY_SUMMARY = "OpenAI returned no summary for content chunk ";
+    private static final String ERROR_CHANNEL_MISSING = "channel missing from structured output";
+    private static final String ERROR_ALL_CHANNELS_FAILED = "OpenAI analysis failed for every channel";
 
     // HTTP status codes for retry logic
     private static final int HTTP_TOO_MANY_REQUESTS = 429;
@@ -61,6 +103,15 @@ public class OpenAIService {
     private static final int HTTP_SERVER_ERROR_THRESHOLD = 500;
 
     private final WebClient webClient;
+    private final TokenCounter tokenCounter;
+    private final OpenAIRequestHedger hedger;
+    private final AnalysisMetrics metrics;
+    private final boolean fanOutEnabled;
+    private final Duration channelTimeout;
+    private final Duration attemptTimeout;
+    private final Duration callTimeout;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ResponsesPayloadReader payloadReader = new ResponsesPayloadReader(objectMapper);
 
     // TODO Can be extracted from business context stored at Buffer
     private String appContext = AIConstants.BUSINESS_CONTEXT;
@@ -68,27 +119,248 @@ public class OpenAIService {
     
     private List<String> defaultChannels = AIConstants.DEFAULT_CHANNELS;
     
-    public OpenAIService(@Value("${openai.api.key}") String apiKey) {
-        this.webClient = WebClient.builder()
-                .baseUrl(AIConstants.OPENAI_BASE_URL)
-                .defaultHeader("Authorization", "Bearer " + apiKey)
-                .build();
+    public OpenAIService(WebClient openAIWebClient,
+                         @Value("${analysis.fan-out.enabled:false}") boolean fanOutEnabled,
+                         @Value("${analysis.fan-out.channel-timeout-seconds:60}") long channelTimeoutSeconds,
+                         @Value("${openai.attempt-timeout-seconds:45}") long attemptTimeoutSeconds,
+                         @Value("${openai.call-timeout-seconds:100}") long callTimeoutSeconds,
+                         TokenCounter tokenCounter, OpenAIRequestHedger hedger, AnalysisMetrics metrics) {
+        this.webClient = openAIWebClient;
+        this.fanOutEnabled = fanOutEnabled;
+        this.channelTimeout = Duration.ofSeconds(channelTimeoutSeconds);
+        this.attemptTimeout = Duration.ofSeconds(attemptTimeoutSeconds);
+        this.callTimeout = Duration.ofSeconds(callTimeoutSeconds);
+        this.tokenCounter = tokenCounter;
+        this.hedger = hedger;
+        this.metrics = metrics;
     }
 
     public String generateChatId() {
         return IdGenerator.generateChatId();
     }
 
+    /**
+     * Build the content-addressed cache key for an analysis of this session's content,
+     * condensed to at most inputTokenBudget tokens
+     */
+    public String buildCacheKey(AnalysisSession session, List<String> channels, int inputTokenBudget) {
+        List<String> channelsToUse = (channels != null && !channels.isEmpty()) ? channels : defaultChannels;
+        return AnalysisCacheKey.of(
+            session.getOriginalContent(),
+            channelsToUse,
+            AIConstants.OPENAI_MODEL,
+            AIConstants.OPENAI_TEMPERATURE,
+            appContext,
+            targetAudience,
+            inputTokenBudget
+        );
+    }
+
     public OpenAIServiceResult analyzeContentForIdeas(AnalysisSession session) {
         return analyzeContentForIdeas(session, defaultChannels);
     }
 
     public OpenAIServiceResult analyzeContentForIdeas(AnalysisSession session, List<String> channels) {
+        return analyzeContentForIdeasAsync(session, channels).block();
+    }
+
+    /**
+     * Non-blocking variant of analyzeContentForIdeas; no thread is held while OpenAI generates the response
+     */
+    public Mono<OpenAIServiceResult> analyzeContentForIdeasAsync(AnalysisSession session, List<String> channels) {
+        return analyzeContentForIdeasAsync(session, session.getOriginalContent(), channels);
+    }
+
+    /**
+     * Generate ideas from the given model input, e.g. a condensed digest of the session's content
+     */
+    public Mono<OpenAIServiceResult> analyzeContentForIdeasAsync(AnalysisSession session, String input, List<String> channels) {
+
+        if (input == null || input.trim().isEmpty()) {
+            return Mono.just(OpenAIServiceResult.failure(ERROR_NO_CONTENT));
+        }
+
+        List<String> uniqueChannels = resolveChannels(channels);
+
+        String instructions = getSystemPrompt(uniqueChannels);
 
-        if (session.getOriginalContent() == null || session.getOriginalContent().trim().isEmpty()) {
-            return OpenAIServiceResult.failure("No content provided for analysis");
+        if (fanOutEnabled && uniqueChannels.size() > 1) {
+            return fanOutByChannel(input, uniqueChannels);
         }
 
+        return callOpenAIWithStructuredOutput(instructions, input, createTextFormat(uniqueChannels), uniqueChannels);
+    }
+
+    /**
+     * Stream the structured output text as OpenAI generates it, one delta per element
+     */
+    public Flux<String> streamContentForIdeas(AnalysisSession session, List<String> channels) {
+        return streamContentForIdeas(session, session.getOriginalContent(), channels);
+    }
+
+    /**
+     * Stream ideas generated from the given model input, e.g. a condensed digest of the session's content
+     */
+    public Flux<String> streamContentForIdeas(AnalysisSession session, String input, List<String> channels) {
+
+        if (input == null || input.trim().isEmpty()) {
+            return Flux.error(new IllegalArgumentException(ERROR_NO_CONTENT));
+        }
+
+        List<String> uniqueChannels = resolveChannels(channels);
+
+        return Flux.defer(() -> {
+            long deadline = System.nanoTime() + callTimeout.toNanos();
+            Map<String, Object> request = buildRequest(getSystemPrompt(uniqueChannels), input,
+                    createTextFormat(uniqueChannels));
+            request.put(FIELD_STREAM, true);
+
+            return metrics.time(Stage.OPENAI, post(request, AIConstants.EXPECTED_OUTPUT_TOKENS)
+                    .accept(MediaType.TEXT_EVENT_STREAM)
+                    .retrieve()
+                    .bodyToFlux(new ParameterizedTypeReference<ServerSentEvent<String>>() {})
+                    // Only HTTP status errors are retried, and those arrive before any delta is emitted
+                    .retryWhen(retrySpec(deadline))
+                    .handle((event, sink) -> {
+                        if (event.data() == null) {
+                            return;
+                        }
+                        try {
+                            JsonNode data = objectMapper.readTree(event.data());
+                            String type = data.path(FIELD_TYPE).asText();
+                            if (EVENT_OUTPUT_TEXT_DELTA.equals(type)) {
+                                sink.next(data.path(FIELD_DELTA).asText());
+                            } else if (EVENT_RESPONSE_COMPLETED.equals(type) || EVENT_RESPONSE_INCOMPLETE.equals(type)) {
+                                JsonNode usage = data.path(FIELD_RESPONSE).path(FIELD_USAGE);
+                                metrics.recordUsage(AnalysisMetrics.OPERATION_STREAM,
+                                        usage.path(FIELD_INPUT_TOKENS).asLong(), usage.path(FIELD_OUTPUT_TOKENS).asLong());
+                            } else if (EVENT_RESPONSE_FAILED.equals(type) || EVENT_ERROR.equals(type)) {
+                                JsonNode error = data.has(FIELD_RESPONSE) ? data.path(FIELD_RESPONSE).path(FIELD_ERROR) : data;
+                                sink.error(new IllegalStateException(ERROR_STREAM_FAILED + error));
+                            }
+                        } catch (Exception e) {
+                            sink.error(e);
+                        }
+                    }));
+        });
+    }
+
+    /**
+     * Summarize one chunk of a long page as plain text, keeping the output within maxOutputTokens
+     */
+    public Mono<String> summarizeChunk(String chunk, int part, int totalParts, String title, int maxOutputTokens) {
+        return Mono.defer(() -> {
+            String instructions = AIConstants.buildChunkSummaryPrompt(part, totalParts, title, maxOutputTokens);
+            Map<String, Object> request = buildRequest(instructions, chunk, Map.of(FIELD_TYPE, TEXT_TYPE));
+            request.put(FIELD_MAX_OUTPUT_TOKENS, maxOutputTokens);
+
+            return callBuffered(AnalysisMetrics.OPERATION_SUMMARY, request, maxOutputTokens);
+        })
+        .handle((buffer, sink) -> {
+            try (InputStream body = buffer.asInputStream(true)) {
+                // A summary cut off at the output limit is still usable as part of the digest
+                ResponsesPayloadReader.Envelope envelope = payloadReader.read(body);
+                metrics.recordUsage(AnalysisMetrics.OPERATION_SUMMARY, envelope.getInputTokens(), envelope.getOutputTokens());
+                String summary = envelope.getText();
+                if (summary == null || summary.isBlank()) {
+                    sink.error(new IllegalStateException(ERROR_EMPTY_SUMMARY + part + "/" + totalParts));
+                    return;
+                }
+                sink.next(summary.trim());
+            } catch (IOException e) {
+                sink.error(e);
+            }
+        });
+    }
+
+    /**
+     * Issue one channel-scoped call per channel in parallel and merge the channels that succeeded.
+     * Latency is that of the slowest channel, and one failing or timed out channel no longer fails the rest.
+     */
+    private Mono<OpenAIServiceResult> fanOutByChannel(String input, List<String> channels) {
+        return Flux.fromIterable(channels)
+                // Sequential merge keeps results aligned with the requested channel order
+                .flatMapSequential(channel -> callForChannel(input, channel), channels.size())
+                .collectList()
+                .map(results -> mergeChannelResults(channels, results));
+    }
+
+    private Mono<OpenAIServiceResult> callForChannel(String input, String channel) {
+        List<String> scope = List.of(channel);
+        return callOpenAIWithStructuredOutput(getSystemPrompt(scope), input, createTextFormat(scope), scope)
+                .timeout(channelTimeout)
+                .onErrorResume(TimeoutException.class, e -> {
+                    log.warn("OpenAI call for channel {} timed out after {}s", channel, channelTimeout.toSeconds());
+                    metrics.recordFailure(FailureReason.CHANNEL_TIMEOUT);
+                    return Mono.just(OpenAIServiceResult.failure(ERROR_CHANNEL_TIMEOUT + channel));
+                });
+    }
+
+    /**
+     * Combine per-channel results into one analysis, recording the channels that failed
+     */
+    private OpenAIServiceResult mergeChannelResults(List<String> channels, List<OpenAIServiceResult> results) {
+        Map<String, List<IdeaDetailDto>> merged = new LinkedHashMap<>();
+        List<String> failedChannels = new ArrayList<>();
+        String summary = null;
+        OpenAIAnalysisDto declinedAnalysis = null;
+        OpenAIServiceResult firstFailure = null;
+        boolean allTruncated = true;
+
+        for (int i = 0; i < channels.size(); i++) {
+            String channel = channels.get(i);
+            OpenAIServiceResult result = results.get(i);
+            OpenAIAnalysisDto analysis = result.getAnalysis();
+
+            List<IdeaDetailDto> ideas = result.isSuccess() && analysis.getChannels() != null
+                    ? analysis.getChannels().get(channel) : null;
+            if (ideas != null && ContentAnalysisStatus.SUCCESS.name().equals(analysis.getStatus())) {
+                if (summary == null) {
+                    summary = analysis.getSummary();
+                }
+                merged.put(channel, ideas);
+                continue;
+            }
+
+            failedChannels.add(channel);
+            boolean declined = result.isSuccess() && !ContentAnalysisStatus.SUCCESS.name().equals(analysis.getStatus());
+            if (declined && declinedAnalysis == null) {
+                declinedAnalysis = analysis;
+            }
+            if (!result.isSuccess() && firstFailure == null) {
+                firstFailure = result;
+            }
+            allTruncated &= result.isTruncated();
+            log.warn("OpenAI analysis failed for channel {}: {}", channel,
+                    !result.isSuccess() ? result.getErrorMessage()
+                            : declined ? analysis.getSummary() : ERROR_CHANNEL_MISSING);
+        }
+
+        if (merged.isEmpty()) {
+            // Nothing to merge: surface the model's own refusal. Only when every channel was cut off
+            // does truncation drive the shorter-content retry, which would not help a timed out channel.
+            if (declinedAnalysis != null) {
+                return OpenAIServiceResult.success(declinedAnalysis);
+            }
+            if (allTruncated) {
+                return OpenAIServiceResult.truncated(ERROR_ALL_CHANNELS_FAILED);
+            }
+            return firstFailure != null ? firstFailure : OpenAIServiceResult.failure(ERROR_ALL_CHANNELS_FAILED);
+        }
+
+        log.info("Fan-out analysis completed for {}/{} channels", merged.size(), channels.size());
+        return OpenAIServiceResult.success(OpenAIAnalysisDto.builder()
+                .status(ContentAnalysisStatus.SUCCESS.name())
+                .summary(summary)
+                .channels(merged)
+                .failedChannels(failedChannels)
+                .build());
+    }
+
+    /**
+     * Capitalize and de-duplicate requested channels, falling back to the defaults
+     */
+    private List<String> resolveChannels(List<String> channels) {
         List<String> channelsToUse = (channels != null && !channels.isEmpty()) ? channels : defaultChannels;
 
         // capitalization for consistent handling
@@ -99,139 +371,159 @@ public class OpenAIService {
             }
         }
         // Remove duplicates while preserving order
-        List<String> uniqueChannels = new ArrayList<>(new LinkedHashSet<>(capitalizedChannels));
+        return new ArrayList<>(new LinkedHashSet<>(capitalizedChannels));
+    }
 
-        String instructions = getSystemPrompt(uniqueChannels);
-        String input = session.getOriginalContent();
+    private Map<String, Object> buildRequest(String instructions, String input, Map<String, Object> textFormat) {
+        Map<String, Object> request = new HashMap<>();
+        request.put(FIELD_MODEL, AIConstants.OPENAI_MODEL);
+        request.put(FIELD_INSTRUCTIONS, instructions);
+        request.put(FIELD_INPUT, input);
+        Map<String, Object> textOptions = new HashMap<>();
+        textOptions.put(FIELD_FORMAT, textFormat);
+        request.put(FIELD_TEXT, textOptions);
+        request.put(FIELD_TEMPERATURE, AIConstants.OPENAI_TEMPERATURE);
+        return request;
+    }
 
-        return callOpenAIWithStructuredOutput(instructions, input, createTextFormat(uniqueChannels), uniqueChannels);
+    /**
+     * Start a Responses API request, tagged with its estimated token usage for the rate limiter
+     */
+    private WebClient.RequestHeadersSpec<?> post(Map<String, Object> request, int expectedOutputTokens) {
+        int estimatedTokens = tokenCounter.count((String) request.get(FIELD_INSTRUCTIONS))
+                + tokenCounter.count((String) request.get(FIELD_INPUT))
+                + expectedOutputTokens;
+        return webClient.post()
+                .uri(RESPONSES_ENDPOINT)
+                .attribute(OpenAIRateLimiter.ESTIMATED_TOKENS_ATTRIBUTE, estimatedTokens)
+                .bodyValue(request);
     }
 
     /**
-     * Make API call with structured JSON output
+     * Make a Responses API call whose payload is read whole, hedged when slow and retried on failure.
+     * The call as a whole, retries included, is given up once it passes the call deadline, which
+     * should stay below analysis.async.request-timeout-seconds.
      */
-    private OpenAIServiceResult callOpenAIWithStructuredOutput(String instructions, String input, Map<String, Object> textFormat, List<String> channels) {
-        try {
-            Map<String, Object> request = new HashMap<>();
-            request.put(FIELD_MODEL, AIConstants.OPENAI_MODEL);
-            request.put(FIELD_INSTRUCTIONS, instructions);
-            request.put(FIELD_INPUT, input);
-            Map<String, Object> textOptions = new HashMap<>();
-            textOptions.put(FIELD_FORMAT, textFormat);
-            request.put(FIELD_TEXT, textOptions);
-            request.put(FIELD_TEMPERATURE, AIConstants.OPENAI_TEMPERATURE);
-
-            Map<String, Object> response = webClient.post()
-                    .uri(RESPONSES_ENDPOINT)
-                    .bodyValue(request)
-                    .retrieve()
-                    .bodyToMono(new ParameterizedTypeReference<Map<String, Object>>() {})
-                    .retryWhen(Retry.backoff(AIConstants.RETRY_MAX_ATTEMPTS, Duration.ofSeconds(AIConstants.RETRY_INITIAL_DELAY_SECONDS))
-                            .maxBackoff(Duration.ofSeconds(AIConstants.RETRY_MAX_BACKOFF_SECONDS))
-                            .filter(throwable -> {
-                                if (throwable instanceof WebClientResponseException) {
-                                    WebClientResponseException wcre = (WebClientResponseException) throwable;
-                                    int statusCode = wcre.getStatusCode().value();
-                                    // Retry on rate limits, server errors, and some client errors
-                                    return statusCode == HTTP_TOO_MANY_REQUESTS || // Rate limit
-                                           statusCode >= HTTP_SERVER_ERROR_THRESHOLD || // Server errors
-                                           statusCode == HTTP_REQUEST_TIMEOUT;   // Request timeout
-                                }
-                                return false;
-                            }))
-                    .block();
-
-            if (response == null) {
-                return OpenAIServiceResult.failure(ERROR_EMPTY_RESPONSE);
-            }
+    private Mono<DataBuffer> callBuffered(String operation, Map<String, Object> request, int expectedOutputTokens) {
+        return Mono.defer(() -> {
+                    long deadline = System.nanoTime() + callTimeout.toNanos();
+                    return hedger.hedge(operation, () -> attempt(request, expectedOutputTokens))
+                            // Releases the payload of a hedged attempt that answered after the other one
+                            .doOnDiscard(DataBuffer.class, DataBufferUtils::release)
+                            .retryWhen(retrySpec(deadline));
+                })
+                .timeout(callTimeout);
+    }
 
-            String assistantResponse = null;
-            try {
-
-                if (assistantResponse == null) {
-                    Object output = response.get(FIELD_OUTPUT);
-                    if (output instanceof List) {
-                        List<?> outputList = (List<?>) output;
-                        StringBuilder aggregated = new StringBuilder();
-                        for (Object item : outputList) {
-                            if (!(item instanceof Map)) continue;
-                            Map<?, ?> itemMap = (Map<?, ?>) item;
-                            // Older shape via message -> content
-                            Object message = itemMap.get(FIELD_MESSAGE);
-                            if (message instanceof Map) {
-                                Map<?, ?> messageMap = (Map<?, ?>) message;
-                                Object content = messageMap.get(FIELD_CONTENT);
-                                if (content instanceof List) {
-                                    for (Object c : (List<?>) content) {
-                                        if (!(c instanceof Map)) continue;
-                                        Map<?, ?> cMap = (Map<?, ?>) c;
-                                        Object textPart = cMap.get(FIELD_TEXT);
-                                        if (textPart instanceof Map) {
-                                            Object value = ((Map<?, ?>) textPart).get(FIELD_VALUE);
-                                            if (value instanceof String) {
-                                                aggregated.append((String) value);
-                                            }
-                                        }
-                                        // Some variants may return { type: "output_text", text: "..." }
-                                        Object directText = cMap.get(FIELD_TEXT);
-                                        if (directText instanceof String) {
-                                            aggregated.append((String) directText);
-                                        }
-                                    }
-                                }
-                            }
+    /**
+     * One attempt, joined into a single buffer up to the client's max-response-bytes and given up
+     * once it passes the per-attempt deadline
+     */
+    private Mono<DataBuffer> attempt(Map<String, Object> request, int expectedOutputTokens) {
+        return post(request, expectedOutputTokens)
+                .retrieve()
+                .bodyToMono(DataBuffer.class)
+                .timeout(attemptTimeout);
+    }
 
-                            // Newer shape may put content directly on the item: { content: [...] }
-                            Object itemContent = itemMap.get(FIELD_CONTENT);
-                            if (itemContent instanceof List) {
-                                for (Object c : (List<?>) itemContent) {
-                                    if (!(c instanceof Map)) continue;
-                                    Map<?, ?> cMap = (Map<?, ?>) c;
-                                    Object t = cMap.get(FIELD_TEXT);
-                                    if (t instanceof String) {
-                                        aggregated.append((String) t);
-                                    } else if (t instanceof Map) {
-                                        Object val = ((Map<?, ?>) t).get(FIELD_VALUE);
-                                        if (val instanceof String) {
-                                            aggregated.append((String) val);
-                                        }
-                                    }
-                                }
-                            }
-                        }
-                        if (aggregated.length() > 0) {
-                            assistantResponse = aggregated.toString();
-                        }
+    /**
+     * Retry on rate limits, server errors, request timeouts and attempts past their deadline with exponential backoff.
+     * An attempt past its deadline is only retried while another full attempt fits before the call deadline.
+     */
+    private Retry retrySpec(long deadline) {
+        return Retry.backoff(AIConstants.RETRY_MAX_ATTEMPTS, Duration.ofSeconds(AIConstants.RETRY_INITIAL_DELAY_SECONDS))
+                .maxBackoff(Duration.ofSeconds(AIConstants.RETRY_MAX_BACKOFF_SECONDS))
+                .filter(throwable -> {
+                    if (throwable instanceof TimeoutException) {
+                        return deadline - System.nanoTime() >= attemptTimeout.toNanos();
                     }
-                }
-            } catch (Exception parseEx) {
-                log.error("Error parsing OpenAI response structure: {}", parseEx.getMessage(), parseEx);
-            }
+                    if (throwable instanceof WebClientResponseException) {
+                        WebClientResponseException wcre = (WebClientResponseException) throwable;
+                        int statusCode = wcre.getStatusCode().value();
+                        // Retry on rate limits, server errors, and some client errors
+                        return statusCode == HTTP_TOO_MANY_REQUESTS || // Rate limit
+                               statusCode >= HTTP_SERVER_ERROR_THRESHOLD || // Server errors
+                               statusCode == HTTP_REQUEST_TIMEOUT;   // Request timeout
+                    }
+                    return false;
+                })
+                .doBeforeRetry(signal -> metrics.recordRetry(signal.failure()));
+    }
 
-            if (assistantResponse == null) {
-                Object status = null;
-                Object error = null;
-                try {
-                    status = ((Map<?, ?>) response).get(FIELD_STATUS);
-                    error = ((Map<?, ?>) response).get(FIELD_ERROR);
-                } catch (Exception ignored) {}
-
-                StringBuilder err = new StringBuilder("OpenAI returned empty response");
-                if (status != null) err.append(" (status=" + status + ")");
-                if (error != null) err.append(" (error=" + error + ")");
-                return OpenAIServiceResult.failure(err.toString());
+    /**
+     * Make API call with structured JSON output
+     */
+    private Mono<OpenAIServiceResult> callOpenAIWithStructuredOutput(String instructions, String input, Map<String, Object> textFormat, List<String> channels) {
+        return Mono.defer(() -> {
+            Map<String, Object> request = buildRequest(instructions, input, textFormat);
+
+            return metrics.time(Stage.OPENAI,
+                    callBuffered(AnalysisMetrics.OPERATION_IDEAS, request, AIConstants.EXPECTED_OUTPUT_TOKENS));
+        })
+        .map(buffer -> {
+            // Releases the pooled buffer once the parser has read it
+            try (InputStream body = buffer.asInputStream(true)) {
+                return metrics.time(Stage.PARSE, () -> readResult(body));
+            } catch (IOException e) {
+                metrics.recordFailure(FailureReason.PARSE_ERROR);
+                return OpenAIServiceResult.failure(ERROR_PARSE_PREFIX + e.getMessage());
             }
+        })
+        .switchIfEmpty(Mono.fromSupplier(() -> {
+            metrics.recordFailure(FailureReason.EMPTY_OUTPUT);
+            return OpenAIServiceResult.failure(ERROR_EMPTY_RESPONSE);
+        }))
+        .onErrorResume(OpenAIRateLimitException.class, e -> {
+            log.warn("OpenAI call shed by rate limiter: {}", e.getMessage());
+            metrics.recordFailure(FailureReason.RATE_LIMITED);
+            return Mono.just(OpenAIServiceResult.rejected(e.getMessage()));
+        })
+        .onErrorResume(e -> {
+            log.error("Unexpected error calling OpenAI: {}", e.getMessage(), e);
+            metrics.recordOpenAIFailure(e);
+            return Mono.just(OpenAIServiceResult.failure("Error: " + e.getMessage()));
+        });
+    }
 
-            if (!assistantResponse.trim().startsWith("{")) {
-                log.error("OpenAI returned plain text instead of structured JSON. Response: {}", assistantResponse);
-                return OpenAIServiceResult.failure(ERROR_PLAIN_TEXT_RESPONSE);
-            }
+    /**
+     * Parse a Responses API payload straight from the response bytes into the analysis DTO in one pass
+     */
+    private OpenAIServiceResult readResult(InputStream body) {
+        StreamingAnalysisParser analysisParser = new StreamingAnalysisParser(objectMapper);
+        ResponsesPayloadReader.Envelope envelope;
+        try {
+            envelope = payloadReader.read(body, analysisParser);
+        } catch (IOException e) {
+            log.error("Error parsing OpenAI response structure: {}", e.getMessage(), e);
+            metrics.recordFailure(FailureReason.PARSE_ERROR);
+            return OpenAIServiceResult.failure(ERROR_PARSE_PREFIX + e.getMessage());
+        }
+        metrics.recordUsage(AnalysisMetrics.OPERATION_IDEAS, envelope.getInputTokens(), envelope.getOutputTokens());
+
+        if (!envelope.isOutputFound()) {
+            metrics.recordFailure(FailureReason.EMPTY_OUTPUT);
+            StringBuilder err = new StringBuilder("OpenAI returned empty response");
+            if (envelope.getStatus() != null) err.append(" (status=" + envelope.getStatus() + ")");
+            if (envelope.getError() != null) err.append(" (error=" + envelope.getError() + ")");
+            return OpenAIServiceResult.failure(err.toString());
+        }
 
-            return OpenAIServiceResult.success(assistantResponse);
+        if (envelope.isPlainText()) {
+            log.error("OpenAI returned plain text instead of structured JSON. Response: {}", envelope.getPlainTextPreview());
+            metrics.recordFailure(FailureReason.PLAIN_TEXT);
+            return OpenAIServiceResult.failure(ERROR_PLAIN_TEXT_RESPONSE);
+        }
 
-        } catch (Exception e) {
-            log.error("Unexpected error calling OpenAI: {}", e.getMessage(), e);
-            return OpenAIServiceResult.failure("Error: " + e.getMessage());
+        try {
+            return OpenAIServiceResult.success(analysisParser.finish());
+        } catch (TruncatedAnalysisException e) {
+            log.warn("Invalid or truncated JSON response detected. {}", e.getMessage());
+            metrics.recordFailure(FailureReason.TRUNCATED);
+            return OpenAIServiceResult.truncated(e.getMessage());
+        } catch (IOException e) {
+            log.error("Failed to parse AI analysis response: {}", e.getMessage());
+            metrics.recordFailure(FailureReason.PARSE_ERROR);
+            return OpenAIServiceResult.failure(ERROR_PARSE_PREFIX + e.getMessage());
         }
     }
 
@@ -257,7 +549,7 @@ public class OpenAIService {
     /**
      * Create JSON schema definition for structured output using builder pattern
      */
-    private Map<String, Object> createSchemaDefinition(List<String> channelKeys) {
+    private static Map<String, Object> createSchemaDefinition(List<String> channelKeys) {
         try {
             Map<String, Object> ideaArraySchema = JsonSchemaBuilder.createIdeaArraySchema(
                 AIConstants.IDEA_MIN_ITEMS, 
@@ -0,0 +1,78 @@
+package com.buffer.service.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+
+/**
+ * Content-addressed key for cached AI analysis results.
+ *
+ * Hashes the normalized page content together with the sorted, de-duplicated channel list
+ * and every prompt input that influences the model output (model, temperature, business
+ * context, target audience, and the token budget long content is condensed to). Two
+ * requests with the same key are guaranteed to send the same prompt to OpenAI.
+ */
+public final class AnalysisCacheKey {
+
+    private static final String HASH_ALGORITHM = "SHA-256";
+    private static final char FIELD_SEPARATOR = '\u001F';
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private AnalysisCacheKey() {}
+
+    /**
+     * Compute the cache key for a single analysis request
+     */
+    public static String of(String content, List<String> channels, String model, double temperature,
+                            String businessContext, String targetAudience, int inputTokenBudget) {
+        StringBuilder material = new StringBuilder();
+        material.append(model).append(FIELD_SEPARATOR)
+                .append(inputTokenBudget).append(FIELD_SEPARATOR)
+                .append(temperature).append(FIELD_SEPARATOR)
+                .append(businessContext).append(FIELD_SEPARATOR)
+                .append(targetAudience).append(FIELD_SEPARATOR)
+                .append(String.join(",", normalizeChannels(channels))).append(FIELD_SEPARATOR)
+                .append(normalizeContent(content));
+
+        return sha256(material.toString());
+    }
+
+    /**
+     * Collapse whitespace runs and trim so that formatting-only differences share a key
+     */
+    static String normalizeContent(String content) {
+        if (content == null) {
+            return "";
+        }
+        return WHITESPACE.matcher(content.trim()).replaceAll(" ");
+    }
+
+    /**
+     * Upper-case, de-duplicate and sort channel names so ordering does not affect the key
+     */
+    static List<String> normalizeChannels(List<String> channels) {
+        TreeSet<String> normalized = new TreeSet<>();
+        if (channels != null) {
+            for (String channel : channels) {
+                if (channel != null && !channel.trim().isEmpty()) {
+                    normalized.add(channel.trim().toUpperCase());
+                }
+            }
+        }
+        return new ArrayList<>(normalized);
+    }
+
+    private static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance(HASH_ALGORITHM);
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(HASH_ALGORITHM + " not available", e);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.buffer.service.cache;
+
+import com.buffer.domain.dto.common.OpenAIServiceResult;
+import com.buffer.domain.dto.response.CacheStatsResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Analysis Result Cache
+ *
+ * In-memory, content-addressed cache of successful OpenAI analysis results. Sits between
+ * ContentAnalysisService and OpenAIService so that identical page content analyzed for the
+ * same channels and prompt inputs is answered from memory instead of a new model call.
+ * Concurrent misses for the same key are coalesced into a single upstream call.
+ * Bounded by entry count and time-to-live; hit, miss and eviction counts are recorded.
+ */
+@Slf4j
+@Component
+public class AnalysisResultCache {
+
+    private final boolean enabled;
+    private final long maxSize;
+    private final Duration ttl;
+    private final Cache<String, OpenAIServiceResult> cache;
+    private final SingleFlight<String, OpenAIServiceResult> singleFlight = new SingleFlight<>();
+
+    public AnalysisResultCache(@Value("${analysis.cache.enabled:true}") boolean enabled,
+                               @Value("${analysis.cache.max-size:1000}") long maxSize,
+                               @Value("${analysis.cache.ttl-minutes:60}") long ttlMinutes) {
+        this.enabled = enabled;
+        this.maxSize = maxSize;
+        this.ttl = Duration.ofMinutes(ttlMinutes);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Return the cached result for this key, or run the loader once for all concurrent callers
+     * asking for the same key and cache its successful result
+     */
+    public OpenAIServiceResult getOrLoad(String key, Supplier<OpenAIServiceResult> loader) {
+        OpenAIServiceResult cached = get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        return singleFlight.execute(key, () -> {
+            // A call for this key may have completed between the lookup above and acquiring the flight;
+            // read through the map view so the re-check is not counted as a second miss
+            OpenAIServiceResult latest = enabled ? cache.asMap().get(key) : null;
+            if (latest != null) {
+                return latest;
+            }
+            OpenAIServiceResult result = loader.get();
+            put(key, result);
+            return result;
+        });
+    }
+
+    /**
+     * Non-blocking variant of getOrLoad. Callers that join an in-flight load do not cancel it when
+     * they go away, so the leader's result is still cached for everyone else.
+     */
+    public Mono<OpenAIServiceResult> getOrLoadAsync(String key, Supplier<Mono<OpenAIServiceResult>> loader) {
+        return Mono.defer(() -> {
+            OpenAIServiceResult cached = get(key);
+            if (cached != null) {
+                return Mono.just(cached);
+            }
+
+            CompletableFuture<OpenAIServiceResult> flight = singleFlight.executeAsync(key, () -> {
+                OpenAIServiceResult latest = enabled ? cache.asMap().get(key) : null;
+                if (latest != null) {
+                    return CompletableFuture.completedFuture(latest);
+                }
+                return loader.get()
+                        .doOnNext(result -> put(key, result))
+                        .toFuture();
+            });
+            return Mono.fromFuture(flight, true);
+        });
+    }
+
+    /**
+     * Look up a cached result
+     * @return The cached result, or null on a miss or when caching is disabled
+     */
+    public OpenAIServiceResult get(String key) {
+        if (!enabled) {
+            return null;
+        }
+        OpenAIServiceResult result = cache.getIfPresent(key);
+        if (result != null) {
+            log.debug("Analysis cache hit for key: {}", key);
+        }
+        return result;
+    }
+
+    /**
+     * Store a result; failures and partial results are never cached so that transient errors are retried
+     */
+    public void put(String key, OpenAIServiceResult result) {
+        if (!enabled || result == null || !result.isSuccess() || result.isPartial()) {
+            return;
+        }
+        cache.put(key, result);
+    }
+
+    /**
+     * Drop a cached result, e.g. when it turned out to be unusable downstream
+     */
+    public void invalidate(String key) {
+        cache.invalidate(key);
+    }
+
+    public CacheStatsResponse getStats() {
+        CacheStats stats = cache.stats();
+        return CacheStatsResponse.builder()
+                .enabled(enabled)
+                .size(cache.estimatedSize())
+                .maxSize(maxSize)
+                .ttlSeconds(ttl.toSeconds())
+                .hitCount(stats.hitCount())
+                .missCount(stats.missCount())
+                .evictionCount(stats.evictionCount())
+                .hitRate(stats.hitRate())
+                .inFlightCount(singleFlight.getInFlightCount())
+                .coalescedCount(singleFlight.getCoalescedCount())
+                .build();
+    }
+}
@@ -0,0 +1,88 @@
+package com.buffer.service.cache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight coalescing of concurrent identical calls.
+ *
+ * The first caller for a key runs the supplied call; every caller that arrives with the same
+ * key while that call is still running waits on the same future instead of starting its own.
+ * The key is released as soon as the call completes, so later callers start a fresh call.
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder coalescedCount = new LongAdder();
+
+    /**
+     * Run the call for this key on the calling thread, or block until the call already in flight for it completes
+     */
+    public V execute(K key, Supplier<V> call) {
+        return await(executeAsync(key, () -> {
+            try {
+                return CompletableFuture.completedFuture(call.get());
+            } catch (Throwable e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }));
+    }
+
+    /**
+     * Start the asynchronous call for this key, or return the future of the call already in flight for it
+     */
+    public CompletableFuture<V> executeAsync(K key, Supplier<CompletableFuture<V>> call) {
+        CompletableFuture<V> own = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, own);
+
+        if (existing != null) {
+            coalescedCount.increment();
+            return existing;
+        }
+
+        try {
+            call.get().whenComplete((value, error) -> {
+                inFlight.remove(key, own);
+                if (error != null) {
+                    own.completeExceptionally(error);
+                } else {
+                    own.complete(value);
+                }
+            });
+        } catch (Throwable e) {
+            // Errors too must release the key and fail the waiters, or the key would hang forever
+            inFlight.remove(key, own);
+            own.completeExceptionally(e);
+            if (e instanceof Error error) {
+                throw error;
+            }
+        }
+        return own;
+    }
+
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    public long getCoalescedCount() {
+        return coalescedCount.sum();
+    }
+
+    private V await(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.buffer.service.digest;
+
+import com.buffer.integration.openai.TokenCounter;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Content Chunker
+ *
+ * Splits page text into chunks that each fit a token budget, keeping related text together.
+ * Chunks are cut at section headings (the headings captured by the extension) where possible,
+ * otherwise between paragraphs. Only a single paragraph that exceeds the budget on its own is
+ * split further, first between sentences and finally on token boundaries.
+ */
+public class ContentChunker {
+
+    private static final Pattern LINE_BREAK = Pattern.compile("\\R");
+    private static final Pattern SENTENCE_END = Pattern.compile("(?<=[.!?])\\s+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final TokenCounter tokenCounter;
+
+    public ContentChunker(TokenCounter tokenCounter) {
+        this.tokenCounter = tokenCounter;
+    }
+
+    public List<String> split(String content, List<String> headings, int maxChunkTokens) {
+        Set<String> headingLines = normalizeHeadings(headings);
+        List<String> chunks = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        int currentTokens = 0;
+
+        for (String paragraph : LINE_BREAK.split(content)) {
+            if (paragraph.isBlank()) {
+                continue;
+            }
+            int tokens = tokenCounter.count(paragraph);
+            boolean sectionStart = headingLines.contains(normalize(paragraph));
+
+            // Start a new chunk when this paragraph would overflow it, or at a section heading
+            // once the current chunk already holds a meaningful share of the budget
+            if (currentTokens > 0 && (currentTokens + tokens > maxChunkTokens
+                    || sectionStart && currentTokens >= maxChunkTokens / 2)) {
+                chunks.add(current.toString());
+                current.setLength(0);
+                currentTokens = 0;
+            }
+
+            if (tokens > maxChunkTokens) {
+                chunks.addAll(splitParagraph(paragraph, maxChunkTokens));
+                continue;
+            }
+            current.append(paragraph).append('\n');
+            currentTokens += tokens;
+        }
+        if (currentTokens > 0) {
+            chunks.add(current.toString());
+        }
+        return chunks;
+    }
+
+    /**
+     * Pack the sentences of an oversized paragraph into chunks, cutting overlong sentences on token boundaries
+     */
+    private List<String> splitParagraph(String paragraph, int maxChunkTokens) {
+        List<String> chunks = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        int currentTokens = 0;
+
+        for (String sentence : SENTENCE_END.split(paragraph)) {
+            int tokens = tokenCounter.count(sentence);
+            if (currentTokens > 0 && currentTokens + tokens > maxChunkTokens) {
+                chunks.add(current.toString());
+                current.setLength(0);
+                currentTokens = 0;
+            }
+            if (tokens > maxChunkTokens) {
+                chunks.addAll(tokenCounter.split(sentence, maxChunkTokens));
+                continue;
+            }
+            current.append(sentence).append(' ');
+            currentTokens += tokens;
+        }
+        if (currentTokens > 0) {
+            chunks.add(current.toString());
+        }
+        return chunks;
+    }
+
+    private Set<String> normalizeHeadings(List<String> headings) {
+        Set<String> normalized = new HashSet<>();
+        if (headings != null) {
+            for (String heading : headings) {
+                if (heading != null && !heading.isBlank()) {
+                    normalized.add(normalize(heading));
+                }
+            }
+        }
+        return normalized;
+    }
+
+    private String normalize(String text) {
+        return WHITESPACE.matcher(text.trim()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+}
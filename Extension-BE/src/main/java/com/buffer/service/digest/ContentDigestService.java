@@ -0,0 +1,136 @@
+package com.buffer.service.digest;
+
+import com.buffer.domain.entity.AnalysisSession;
+import com.buffer.integration.openai.TokenCounter;
+import com.buffer.service.OpenAIService;
+import com.buffer.service.metrics.AnalysisMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Content Digest Service
+ *
+ * Prepares page content as model input within a token budget. Content that fits is passed
+ * through unchanged. Longer content is split into chunks on heading and paragraph boundaries,
+ * the chunks are summarized by OpenAI in parallel, and the summaries are joined into a digest
+ * that ideas are generated from (map-reduce). A digest that is still over budget is condensed
+ * again, so no part of a long page within the page ceiling is cut off. Pages over the ceiling
+ * are cut to it before anything else happens, which bounds the number of chunk summaries (and
+ * their cost) per request.
+ */
+@Slf4j
+@Service
+public class ContentDigestService {
+
+    // Reduce rounds before the digest is used as is; each round shrinks the text several times over
+    private static final int MAX_REDUCE_ROUNDS = 3;
+    private static final int MIN_SUMMARY_TOKENS = 150;
+    private static final String PART_SEPARATOR = "\n\n";
+
+    private final OpenAIService openAIService;
+    private final TokenCounter tokenCounter;
+    private final AnalysisMetrics metrics;
+    private final ContentChunker chunker;
+    private final int maxPageTokens;
+    private final int maxInputTokens;
+    private final int retryInputTokens;
+    private final int chunkTokens;
+    private final int concurrency;
+
+    public ContentDigestService(OpenAIService openAIService, TokenCounter tokenCounter, AnalysisMetrics metrics,
+                                @Value("${analysis.digest.max-page-tokens:64000}") int maxPageTokens,
+                                @Value("${analysis.digest.max-input-tokens:12000}") int maxInputTokens,
+                                @Value("${analysis.digest.retry-input-tokens:6000}") int retryInputTokens,
+                                @Value("${analysis.digest.chunk-tokens:4000}") int chunkTokens,
+                                @Value("${analysis.digest.concurrency:4}") int concurrency) {
+        this.openAIService = openAIService;
+        this.tokenCounter = tokenCounter;
+        this.metrics = metrics;
+        this.chunker = new ContentChunker(tokenCounter);
+        this.maxPageTokens = maxPageTokens;
+        this.maxInputTokens = maxInputTokens;
+        this.retryInputTokens = retryInputTokens;
+        this.chunkTokens = chunkTokens;
+        this.concurrency = concurrency;
+    }
+
+    /**
+     * Cut page content to the page ceiling, keeping the start of the page. Applied before the
+     * session is stored, so stored and cached sessions are bounded by the same ceiling.
+     */
+    public String limitPageContent(String content, String sessionId) {
+        String limited = tokenCounter.truncate(content, maxPageTokens);
+        if (limited != content) {
+            log.warn("Cut content of session {} from {} to {} characters at the {} token page ceiling",
+                    sessionId, content.length(), limited.length(), maxPageTokens);
+        }
+        return limited;
+    }
+
+    /**
+     * Token budget for the first analysis attempt
+     */
+    public int getMaxInputTokens() {
+        return maxInputTokens;
+    }
+
+    /**
+     * Smaller token budget used when the first attempt produced an incomplete response
+     */
+    public int getRetryInputTokens() {
+        return retryInputTokens;
+    }
+
+    /**
+     * Whether condensing to the retry budget would shorten this session's model input
+     */
+    public boolean exceedsRetryBudget(AnalysisSession session) {
+        return tokenCounter.count(session.getOriginalContent()) > retryInputTokens;
+    }
+
+    /**
+     * Return the session's content as model input of at most budgetTokens tokens
+     */
+    public Mono<String> prepareInput(AnalysisSession session, int budgetTokens) {
+        return Mono.defer(() -> {
+            String content = session.getOriginalContent();
+            int tokens = tokenCounter.count(content);
+            metrics.recordContentTokens(tokens);
+            if (tokens <= budgetTokens) {
+                return Mono.just(content);
+            }
+
+            long start = System.currentTimeMillis();
+            return condense(content, tokens, session, budgetTokens, 1)
+                    .doOnNext(digest -> log.info("Condensed content of session {} from {} to {} tokens in {} ms",
+                            session.getSessionId(), tokens, tokenCounter.count(digest), System.currentTimeMillis() - start));
+        });
+    }
+
+    private Mono<String> condense(String text, int textTokens, AnalysisSession session, int budgetTokens, int round) {
+        List<String> chunks = chunker.split(text, session.getHeadings(), chunkTokens);
+        // Share the budget between the chunks, but always ask for a real reduction of each chunk
+        int summaryTokens = Math.max(MIN_SUMMARY_TOKENS, Math.min(budgetTokens / chunks.size(), chunkTokens / 3));
+        log.debug("Summarizing {} chunk(s) of session {} in round {}", chunks.size(), session.getSessionId(), round);
+
+        return Flux.range(0, chunks.size())
+                // Sequential merge keeps the digest in page order while chunks are summarized in parallel
+                .flatMapSequential(i -> openAIService.summarizeChunk(chunks.get(i), i + 1, chunks.size(),
+                        session.getTitle(), summaryTokens), concurrency)
+                .collectList()
+                .map(parts -> String.join(PART_SEPARATOR, parts))
+                .flatMap(digest -> {
+                    int digestTokens = tokenCounter.count(digest);
+                    // Stop once within budget, or when another round would not shrink the text any further
+                    if (digestTokens <= budgetTokens || digestTokens >= textTokens || round >= MAX_REDUCE_ROUNDS) {
+                        return Mono.just(digest);
+                    }
+                    return condense(digest, digestTokens, session, budgetTokens, round + 1);
+                });
+    }
+}
@@ -0,0 +1,271 @@
+package com.buffer.service.metrics;
+
+import com.buffer.domain.dto.response.ContentAnalysisResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Analysis Metrics
+ *
+ * Micrometer meters for the analysis pipeline, exported with the application's other metrics
+ * on /api/monitor/prometheus. Timers carry percentile histograms so latency percentiles can be
+ * aggregated across instances:
+ * - analysis.requests: a whole analysis by endpoint and response status
+ * - analysis.stage: each pipeline stage, one sample per execution
+ * - openai.requests: every HTTP attempt to OpenAI, retries included, by response status
+ * Counters and distributions cover retries by status, hedges by outcome, truncation fallbacks,
+ * failures by reason, content size, and the token usage OpenAI reports.
+ */
+@Component
+public class AnalysisMetrics {
+
+    public static final String ENDPOINT_CONTEXT = "context";
+    public static final String ENDPOINT_STREAM = "stream";
+
+    public static final String OPERATION_IDEAS = "ideas";
+    public static final String OPERATION_STREAM = "stream";
+    public static final String OPERATION_SUMMARY = "summary";
+
+    private static final String STATUS_IO_ERROR = "IO_ERROR";
+    private static final String STATUS_CANCELLED = "CANCELLED";
+
+    /**
+     * Pipeline stages, in the order a request goes through them
+     */
+    public enum Stage {
+        // Page chrome stripped from the request's text
+        NORMALIZE("normalize"),
+        // Content fitted to the token budget, including chunk summary calls for long pages
+        CONDENSE("condense"),
+        // Idea generation call(s) until the whole response is received, retries and rate limiter waits included;
+        // a streamed call also includes parsing its output as it arrives
+        OPENAI("openai"),
+        // Responses payload read and analysis parsed from it
+        PARSE("parse"),
+        // Session graph and response built from the analysis
+        BUILD_RESPONSE("build_response"),
+        // Session handed to the repository
+        PERSIST("persist");
+
+        private final String tag;
+
+        Stage(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    /**
+     * Why an analysis or an OpenAI call did not produce ideas
+     */
+    public enum FailureReason {
+        NO_CONTENT, CONDENSE_ERROR, RATE_LIMITED, OPENAI_ERROR, EMPTY_OUTPUT, PLAIN_TEXT, TRUNCATED,
+        PARSE_ERROR, CHANNEL_TIMEOUT, DECLINED, STREAM_ERROR, UNEXPECTED
+    }
+
+    private final MeterRegistry registry;
+    private final Map<Stage, Timer> stageTimers = new EnumMap<>(Stage.class);
+    private final Counter truncationFallbacks;
+    private final DistributionSummary contentLength;
+    private final DistributionSummary contentTokens;
+
+    public AnalysisMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        for (Stage stage : Stage.values()) {
+            stageTimers.put(stage, Timer.builder("analysis.stage")
+                    .description("Time spent in each stage of the analysis pipeline")
+                    .tag("stage", stage.tag)
+                    .publishPercentileHistogram()
+                    .register(registry));
+        }
+        this.truncationFallbacks = Counter.builder("analysis.truncation.fallbacks")
+                .description("Analyses retried with more condensed content after an incomplete response")
+                .register(registry);
+        this.contentLength = DistributionSummary.builder("analysis.content.length")
+                .description("Normalized page content length")
+                .baseUnit("characters")
+                .publishPercentileHistogram()
+                .maximumExpectedValue(1_000_000.0)
+                .register(registry);
+        this.contentTokens = DistributionSummary.builder("analysis.content.tokens")
+                .description("Page content size in model tokens, per analysis attempt")
+                .baseUnit("tokens")
+                .publishPercentileHistogram()
+                .maximumExpectedValue(250_000.0)
+                .register(registry);
+    }
+
+    public Timer.Sample startTimer() {
+        return Timer.start(registry);
+    }
+
+    /**
+     * Record a finished analysis under its endpoint and response status
+     */
+    public void recordRequest(Timer.Sample sample, String endpoint, ContentAnalysisResponse response) {
+        sample.stop(Timer.builder("analysis.requests")
+                .description("Analysis requests from arrival to response")
+                .tag("endpoint", endpoint)
+                .tag("status", response.getStatus() != null ? response.getStatus().name() : "UNKNOWN")
+                .publishPercentileHistogram()
+                .register(registry));
+    }
+
+    public <T> T time(Stage stage, Supplier<T> work) {
+        return stageTimers.get(stage).record(work);
+    }
+
+    public void time(Stage stage, Runnable work) {
+        stageTimers.get(stage).record(work);
+    }
+
+    /**
+     * Time a stage from subscription until it completes, fails or is cancelled
+     */
+    public <T> Mono<T> time(Stage stage, Mono<T> work) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(registry);
+            return work.doFinally(signal -> sample.stop(stageTimers.get(stage)));
+        });
+    }
+
+    public <T> Flux<T> time(Stage stage, Flux<T> work) {
+        return Flux.defer(() -> {
+            Timer.Sample sample = Timer.start(registry);
+            return work.doFinally(signal -> sample.stop(stageTimers.get(stage)));
+        });
+    }
+
+    /**
+     * WebClient filter timing every OpenAI exchange until its body has been read, by response status;
+     * exchanges cancelled before a response, e.g. the losing attempt of a hedged call, count as CANCELLED.
+     * Error bodies can be subscribed more than once while the error is built, so only the first
+     * end of the exchange stops the timer.
+     */
+    public ExchangeFilterFunction openAIRequestFilter() {
+        return (request, next) -> {
+            Timer.Sample sample = Timer.start(registry);
+            AtomicBoolean stopped = new AtomicBoolean();
+            Consumer<String> stop = status -> {
+                if (stopped.compareAndSet(false, true)) {
+                    sample.stop(openAIRequestTimer(status));
+                }
+            };
+            return next.exchange(request)
+                    .map(response -> {
+                        String status = String.valueOf(response.statusCode().value());
+                        return response.mutate()
+                                .body(body -> body.doFinally(signal -> stop.accept(status)))
+                                .build();
+                    })
+                    .doOnError(error -> stop.accept(STATUS_IO_ERROR))
+                    .doOnCancel(() -> stop.accept(STATUS_CANCELLED));
+        };
+    }
+
+    /**
+     * Count a retry of an OpenAI call, by the HTTP status that caused it
+     */
+    public void recordRetry(Throwable failure) {
+        Counter.builder("openai.retries")
+                .description("OpenAI calls retried, by the response status that triggered the retry")
+                .tag("status", statusOf(failure))
+                .register(registry)
+                .increment();
+    }
+
+    /**
+     * Count a hedge of a slow OpenAI call: fired, won (answered first), or denied by the hedge budget
+     */
+    public void recordHedge(String outcome) {
+        Counter.builder("openai.hedges")
+                .description("Duplicate attempts started for slow OpenAI calls, by outcome")
+                .tag("outcome", outcome)
+                .register(registry)
+                .increment();
+    }
+
+    public void recordTruncationFallback() {
+        truncationFallbacks.increment();
+    }
+
+    public void recordFailure(FailureReason reason) {
+        failureCounter(reason.name().toLowerCase()).increment();
+    }
+
+    /**
+     * Record a failed OpenAI call; HTTP errors are counted by status, e.g. http_429
+     */
+    public void recordOpenAIFailure(Throwable failure) {
+        String status = statusOf(failure);
+        failureCounter(STATUS_IO_ERROR.equals(status)
+                ? FailureReason.OPENAI_ERROR.name().toLowerCase()
+                : "http_" + status).increment();
+    }
+
+    public void recordContentLength(int characters) {
+        contentLength.record(characters);
+    }
+
+    public void recordContentTokens(int tokens) {
+        contentTokens.record(tokens);
+    }
+
+    /**
+     * Record the token usage OpenAI reported for a call; missing values are skipped
+     */
+    public void recordUsage(String operation, long inputTokens, long outputTokens) {
+        if (inputTokens > 0) {
+            usageSummary(operation, "input").record(inputTokens);
+        }
+        if (outputTokens > 0) {
+            usageSummary(operation, "output").record(outputTokens);
+        }
+    }
+
+    private DistributionSummary usageSummary(String operation, String type) {
+        return DistributionSummary.builder("openai.usage.tokens")
+                .description("Tokens used per OpenAI call as reported in its usage field")
+                .baseUnit("tokens")
+                .tag("operation", operation)
+                .tag("type", type)
+                .publishPercentileHistogram()
+                .maximumExpectedValue(200_000.0)
+                .register(registry);
+    }
+
+    private Counter failureCounter(String reason) {
+        return Counter.builder("analysis.failures")
+                .description("Analyses and OpenAI calls that produced no ideas, by reason")
+                .tag("reason", reason)
+                .register(registry);
+    }
+
+    private Timer openAIRequestTimer(String status) {
+        return Timer.builder("openai.requests")
+                .description("OpenAI HTTP attempts, retries included, until the response body has been read")
+                .tag("status", status)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private static String statusOf(Throwable failure) {
+        Throwable cause = Exceptions.isRetryExhausted(failure) && failure.getCause() != null ? failure.getCause() : failure;
+        return cause instanceof WebClientResponseException responseException
+                ? String.valueOf(responseException.getStatusCode().value())
+                : STATUS_IO_ERROR;
+    }
+}
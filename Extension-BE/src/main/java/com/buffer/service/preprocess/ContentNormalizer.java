@@ -0,0 +1,212 @@
+package com.buffer.service.preprocess;
+
+import com.buffer.domain.dto.request.ContentAnalysisRequest;
+import com.buffer.domain.dto.response.ContentNormalizationStatsResponse;
+import com.buffer.integration.openai.TokenCounter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Content Normalizer
+ *
+ * Pre-processing stage that strips page chrome from the extension's raw innerText before it is
+ * stored and sent to OpenAI. Collapses whitespace, drops exact duplicate lines, and removes
+ * boilerplate: short lines repeated throughout the page (share buttons, "Read more"), lines
+ * made up mostly of link text (menus, footers, tag lists), cookie notices, and paragraphs
+ * beyond a small number of near-identical ones (listing cards, comment chrome). Section
+ * headings are never removed. Bytes and tokens saved are logged per request and totalled.
+ */
+@Slf4j
+@Component
+public class ContentNormalizer {
+
+    private static final Pattern LINE_BREAK = Pattern.compile("\\R");
+    // Java's \s does not cover non-breaking spaces, which innerText keeps
+    private static final Pattern WHITESPACE = Pattern.compile("[\\s\\u00A0\\u2007\\u202F]+");
+    // Separators between inline menu items in innerText
+    private static final Pattern SEGMENT_SEPARATOR = Pattern.compile("\\t|\\s{2,}|\\s[|·•]\\s");
+    private static final Pattern NON_LETTERS = Pattern.compile("[^\\p{L}]+");
+    private static final Pattern COOKIE_NOTICE = Pattern.compile(
+            "\\bcookies?\\b.*\\b(accept|consent|preferences|privacy)\\b|\\b(accept|consent)\\b.*\\bcookies?\\b",
+            Pattern.CASE_INSENSITIVE);
+
+    // Lines repeated across the page are boilerplate only if they are short
+    private static final int BOILERPLATE_MAX_WORDS = 8;
+    private static final int COOKIE_NOTICE_MAX_LENGTH = 400;
+
+    private final TokenCounter tokenCounter;
+    private final boolean enabled;
+    private final int boilerplateMinRepeats;
+    private final double linkDensityThreshold;
+    private final int maxSimilarParagraphs;
+
+    private final LongAdder requestCount = new LongAdder();
+    private final LongAdder originalBytes = new LongAdder();
+    private final LongAdder normalizedBytes = new LongAdder();
+    private final LongAdder originalTokens = new LongAdder();
+    private final LongAdder normalizedTokens = new LongAdder();
+    private final LongAdder linesRemoved = new LongAdder();
+
+    public ContentNormalizer(TokenCounter tokenCounter,
+                             @Value("${analysis.normalize.enabled:true}") boolean enabled,
+                             @Value("${analysis.normalize.boilerplate-min-repeats:3}") int boilerplateMinRepeats,
+                             @Value("${analysis.normalize.link-density-threshold:0.6}") double linkDensityThreshold,
+                             @Value("${analysis.normalize.max-similar-paragraphs:2}") int maxSimilarParagraphs) {
+        this.tokenCounter = tokenCounter;
+        this.enabled = enabled;
+        this.boilerplateMinRepeats = boilerplateMinRepeats;
+        this.linkDensityThreshold = linkDensityThreshold;
+        this.maxSimilarParagraphs = maxSimilarParagraphs;
+    }
+
+    /**
+     * A non-blank line of page text with what is needed to classify it
+     */
+    private record Line(String text, String key, double linkDensity) {}
+
+    /**
+     * Return the request's page text with boilerplate removed
+     */
+    public String normalize(ContentAnalysisRequest request) {
+        String content = request.getFullText();
+        if (!enabled) {
+            return content;
+        }
+
+        Set<String> headingKeys = keys(request.getHeadings());
+        Set<String> linkKeys = keys(request.getLinkTexts());
+
+        List<Line> lines = new ArrayList<>();
+        Map<String, Integer> frequency = new HashMap<>();
+        for (String raw : LINE_BREAK.split(content)) {
+            String text = collapse(raw);
+            if (text.isEmpty()) {
+                continue;
+            }
+            String key = text.toLowerCase(Locale.ROOT);
+            lines.add(new Line(text, key, linkDensity(raw, key, linkKeys)));
+            frequency.merge(key, 1, Integer::sum);
+        }
+
+        StringBuilder normalized = new StringBuilder(content.length());
+        Set<String> seen = new HashSet<>();
+        Map<String, Integer> similar = new HashMap<>();
+        int removed = 0;
+        for (Line line : lines) {
+            if (!seen.add(line.key()) || !headingKeys.contains(line.key()) && isBoilerplate(line, frequency, similar)) {
+                removed++;
+                continue;
+            }
+            normalized.append(line.text()).append('\n');
+        }
+
+        // Never hand an empty prompt downstream because everything looked like chrome
+        String result = normalized.length() > 0 ? normalized.toString().trim() : collapse(content);
+        record(request.getUrl(), content, result, removed);
+        return result;
+    }
+
+    public ContentNormalizationStatsResponse getStats() {
+        return ContentNormalizationStatsResponse.builder()
+                .enabled(enabled)
+                .requestCount(requestCount.sum())
+                .originalBytes(originalBytes.sum())
+                .normalizedBytes(normalizedBytes.sum())
+                .bytesSaved(originalBytes.sum() - normalizedBytes.sum())
+                .originalTokens(originalTokens.sum())
+                .normalizedTokens(normalizedTokens.sum())
+                .tokensSaved(originalTokens.sum() - normalizedTokens.sum())
+                .linesRemoved(linesRemoved.sum())
+                .build();
+    }
+
+    private boolean isBoilerplate(Line line, Map<String, Integer> frequency, Map<String, Integer> similar) {
+        if (frequency.get(line.key()) >= boilerplateMinRepeats && wordCount(line.text()) <= BOILERPLATE_MAX_WORDS) {
+            return true;
+        }
+        if (line.linkDensity() >= linkDensityThreshold) {
+            return true;
+        }
+        if (line.text().length() <= COOKIE_NOTICE_MAX_LENGTH && COOKIE_NOTICE.matcher(line.text()).find()) {
+            return true;
+        }
+        // Paragraphs that differ only in numbers and punctuation, e.g. "3 replies" / "12 replies"
+        String fingerprint = NON_LETTERS.matcher(line.key()).replaceAll(" ").trim();
+        return !fingerprint.isEmpty() && similar.merge(fingerprint, 1, Integer::sum) > maxSimilarParagraphs;
+    }
+
+    /**
+     * Share of the line's characters that belong to link texts, judged per inline segment
+     */
+    private double linkDensity(String raw, String key, Set<String> linkKeys) {
+        if (linkKeys.isEmpty()) {
+            return 0;
+        }
+        if (linkKeys.contains(key)) {
+            return 1;
+        }
+        int total = 0;
+        int linked = 0;
+        for (String segment : SEGMENT_SEPARATOR.split(raw)) {
+            String segmentKey = collapse(segment).toLowerCase(Locale.ROOT);
+            total += segmentKey.length();
+            if (linkKeys.contains(segmentKey)) {
+                linked += segmentKey.length();
+            }
+        }
+        return total > 0 ? (double) linked / total : 0;
+    }
+
+    private void record(String url, String original, String normalized, int removed) {
+        int bytesBefore = original.getBytes(StandardCharsets.UTF_8).length;
+        int bytesAfter = normalized.getBytes(StandardCharsets.UTF_8).length;
+        int tokensBefore = tokenCounter.count(original);
+        int tokensAfter = tokenCounter.count(normalized);
+
+        requestCount.increment();
+        originalBytes.add(bytesBefore);
+        normalizedBytes.add(bytesAfter);
+        originalTokens.add(tokensBefore);
+        normalizedTokens.add(tokensAfter);
+        linesRemoved.add(removed);
+
+        log.info("Normalized content for URL: {} - saved {} bytes ({} -> {}) and {} tokens ({} -> {}), removed {} lines",
+                url, bytesBefore - bytesAfter, bytesBefore, bytesAfter,
+                tokensBefore - tokensAfter, tokensBefore, tokensAfter, removed);
+    }
+
+    private Set<String> keys(List<String> values) {
+        Set<String> keys = new HashSet<>();
+        if (values != null) {
+            for (String value : values) {
+                if (value != null) {
+                    String key = collapse(value).toLowerCase(Locale.ROOT);
+                    if (!key.isEmpty()) {
+                        keys.add(key);
+                    }
+                }
+            }
+        }
+        return keys;
+    }
+
+    private static String collapse(String text) {
+        return WHITESPACE.matcher(text).replaceAll(" ").trim();
+    }
+
+    private static int wordCount(String text) {
+        return text.split(" ").length;
+    }
+}
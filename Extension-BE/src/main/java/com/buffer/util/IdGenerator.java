@@ -1,6 +1,7 @@
 package com.buffer.util;
 
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Centralized ID generation utility for all entities.
@@ -8,12 +9,15 @@ import java.util.UUID;
  */
 public class IdGenerator {
     
+    // Milliseconds alone repeat for every idea of one analysis; the sequence keeps IDs unique and ordered
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+    
     /**
      * Generate a unique channel ID
      * @return A unique channel identifier
      */
     public static String generateChannelId() {
-        return "channel_" + System.currentTimeMillis() + "_" + (int)(Math.random() * 1000);
+        return "channel_" + System.currentTimeMillis() + "_" + SEQUENCE.incrementAndGet();
     }
     
     /**
@@ -21,7 +25,7 @@ public class IdGenerator {
      * @return A unique idea identifier
      */
     public static String generateIdeaId() {
-        return "idea_" + System.currentTimeMillis() + "_" + (int)(Math.random() * 1000);
+        return "idea_" + System.currentTimeMillis() + "_" + SEQUENCE.incrementAndGet();
     }
     
     /**
@@ -33,9 +33,8 @@ public final class AIConstants {
     public static final int IDEA_MIN_ITEMS = 1;
     public static final int IDEA_MAX_ITEMS = 2;
     
-    // Content limits
-    public static final int MAX_CONTENT_LENGTH = 50000;
-    public static final int TRUNCATED_CONTENT_LENGTH = 30000; // Reduced content length for retry
+    // Typical output size of an idea generation call, used for tokens-per-minute budgeting
+    public static final int EXPECTED_OUTPUT_TOKENS = 1500;
     
     // Schema enum values
     public static final String[] STATUS_VALUES = {"SUCCESS", "FAILURE"};
@@ -70,6 +69,14 @@ public final class AIConstants {
         "}\n" +
         "Each idea object should contain: idea, rationale, pros, cons.\n\n";
     
+    // Prompt for condensing one chunk of a long page before idea generation
+    public static final String CHUNK_SUMMARY_PROMPT_TEMPLATE =
+        "You are condensing part {PART} of {TOTAL} of the web page \"{TITLE}\" so that social media content " +
+        "ideas can later be generated from the condensed text of all parts.\n" +
+        "Rewrite the given part as a dense digest of at most {TOKENS} tokens. Keep the main arguments, concrete facts, " +
+        "numbers, names, examples and quotes that could inspire a post. Drop navigation, boilerplate and repetition.\n" +
+        "Do not add commentary, headings or information that is not in the text. Respond with plain text only.";
+    
     /**
      * Build complete system prompt with dynamic values
      */
@@ -79,6 +86,15 @@ public final class AIConstants {
             .replace("{BUSINESS_CONTEXT}", businessContext)
             .replace("{TARGET_AUDIENCE}", targetAudience);
     }
+    
+    /**
+     * Build the chunk summary prompt for one part of a long page
+     */
+    public static String buildChunkSummaryPrompt(int part, int totalParts, String title, int maxTokens) {
+        return CHUNK_SUMMARY_PROMPT_TEMPLATE
+            .replace("{PART}", String.valueOf(part))
+            .replace("{TOTAL}", String.valueOf(totalParts))
+            .replace("{TITLE}", title != null ? title : "")
+            .replace("{TOKENS}", String.valueOf(maxTokens));
+    }
 }
-
-
@@ -0,0 +1,106 @@
+package com.buffer.web.config;
+
+import com.buffer.integration.openai.OpenAIRateLimiter;
+import com.buffer.service.metrics.AnalysisMetrics;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.epoll.Epoll;
+import io.netty.handler.timeout.WriteTimeoutHandler;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.Http11SslContextSpec;
+import reactor.netty.http.Http2SslContextSpec;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * OpenAI HTTP client
+ *
+ * The WebClient every OpenAI call goes through, on a dedicated Reactor Netty connection pool sized
+ * for the rate limiter's concurrency. Idle connections are evicted before the server drops them and
+ * every connection is retired after a maximum lifetime. Over HTTPS, HTTP/2 is negotiated with ALPN
+ * and falls back to HTTP/1.1. Each phase of a call is bounded: pool acquisition, connect, TLS
+ * handshake, request write and the wait between reads of the response. Buffered responses and
+ * streamed events are limited to max-response-bytes. Pool gauges are published with the other
+ * metrics under reactor_netty_connection_provider_*{name="openai"}.
+ */
+@Slf4j
+@Configuration
+public class OpenAIClientConfig {
+
+    private static final String POOL_NAME = "openai";
+    private static final String HTTPS_SCHEME = "https";
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider openAIConnectionProvider(
+            @Value("${openai.http.max-connections:${openai.rate-limit.max-concurrency:16}}") int maxConnections,
+            @Value("${openai.http.pending-acquire-timeout-seconds:10}") long pendingAcquireTimeoutSeconds,
+            @Value("${openai.http.max-idle-seconds:30}") long maxIdleSeconds,
+            @Value("${openai.http.max-life-seconds:300}") long maxLifeSeconds,
+            @Value("${openai.http.evict-interval-seconds:15}") long evictIntervalSeconds) {
+        return ConnectionProvider.builder(POOL_NAME)
+                .maxConnections(maxConnections)
+                .pendingAcquireTimeout(Duration.ofSeconds(pendingAcquireTimeoutSeconds))
+                .maxIdleTime(Duration.ofSeconds(maxIdleSeconds))
+                .maxLifeTime(Duration.ofSeconds(maxLifeSeconds))
+                .evictInBackground(Duration.ofSeconds(evictIntervalSeconds))
+                .metrics(true)
+                .build();
+    }
+
+    @Bean
+    public WebClient openAIWebClient(
+            ConnectionProvider openAIConnectionProvider,
+            OpenAIRateLimiter rateLimiter,
+            AnalysisMetrics metrics,
+            @Value("${openai.api.key}") String apiKey,
+            @Value("${openai.base-url:" + AIConstants.OPENAI_BASE_URL + "}") String baseUrl,
+            @Value("${openai.http.http2-enabled:true}") boolean http2Enabled,
+            @Value("${openai.http.connect-timeout-ms:5000}") int connectTimeoutMillis,
+            @Value("${openai.http.tls-handshake-timeout-seconds:10}") long tlsHandshakeTimeoutSeconds,
+            @Value("${openai.http.write-timeout-seconds:30}") long writeTimeoutSeconds,
+            @Value("${openai.http.response-timeout-seconds:120}") long responseTimeoutSeconds,
+            @Value("${openai.http.max-response-bytes:4194304}") int maxResponseBytes) {
+
+        boolean secure = HTTPS_SCHEME.equalsIgnoreCase(URI.create(baseUrl).getScheme());
+        // Cleartext HTTP/2 needs prior knowledge of the server, so plain http (e.g. the mock server) stays on HTTP/1.1
+        boolean http2 = http2Enabled && secure;
+
+        HttpClient httpClient = HttpClient.create(openAIConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMillis)
+                .option(ChannelOption.SO_KEEPALIVE, true)
+                // Longest wait for the next read of a response; a non-streamed call reads nothing until generation ends
+                .responseTimeout(Duration.ofSeconds(responseTimeoutSeconds))
+                .doOnConnected(connection -> connection.addHandlerLast(
+                        new WriteTimeoutHandler(writeTimeoutSeconds, TimeUnit.SECONDS)));
+        if (http2) {
+            httpClient = httpClient.protocol(HttpProtocol.H2, HttpProtocol.HTTP11)
+                    .secure(ssl -> ssl.sslContext(Http2SslContextSpec.forClient())
+                            .handshakeTimeout(Duration.ofSeconds(tlsHandshakeTimeoutSeconds)));
+        } else if (secure) {
+            httpClient = httpClient.secure(ssl -> ssl.sslContext(Http11SslContextSpec.forClient())
+                    .handshakeTimeout(Duration.ofSeconds(tlsHandshakeTimeoutSeconds)));
+        }
+
+        log.info("OpenAI client: {} over {} transport", http2 ? "HTTP/2 with HTTP/1.1 fallback" : "HTTP/1.1",
+                Epoll.isAvailable() ? "native epoll" : "NIO");
+
+        // Every call, including each retry, is admitted through the shared rate limiter, then timed
+        return WebClient.builder()
+                .baseUrl(baseUrl)
+                .defaultHeader("Authorization", "Bearer " + apiKey)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(maxResponseBytes))
+                .filter(rateLimiter.filter())
+                .filter(metrics.openAIRequestFilter())
+                .build();
+    }
+}
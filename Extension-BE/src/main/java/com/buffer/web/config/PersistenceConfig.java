@@ -0,0 +1,56 @@
+package com.buffer.web.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class PersistenceConfig {
+
+    /**
+     * Only takes effect on a database without tables: SQLite fixes the auto-vacuum mode when the
+     * file is created, so the retention job can hand freed pages back with incremental_vacuum
+     */
+    public static final String AUTO_VACUUM_INCREMENTAL = "PRAGMA auto_vacuum = INCREMENTAL";
+
+    private static final String SQLITE_URL_PREFIX = "jdbc:sqlite:";
+
+    /**
+     * JDBC batching for session graphs: inserts are grouped per table so a session with its
+     * channels, ideas and element collections is written as a handful of batched statements
+     * rather than one round trip per row. Values set under spring.jpa.properties take precedence.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer batchingHibernatePropertiesCustomizer(
+            @Value("${analysis.persistence.batch-size:50}") int batchSize) {
+        return properties -> {
+            properties.putIfAbsent(AvailableSettings.STATEMENT_BATCH_SIZE, batchSize);
+            properties.putIfAbsent(AvailableSettings.ORDER_INSERTS, true);
+            properties.putIfAbsent(AvailableSettings.ORDER_UPDATES, true);
+        };
+    }
+
+    /**
+     * Create SQLite databases of writable connection pools with incremental auto-vacuum. A
+     * connection-init-sql set under spring.datasource.hikari takes precedence, and read-only
+     * pools are left alone since they never create the schema.
+     */
+    @Bean
+    public static BeanPostProcessor sqliteAutoVacuumPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource dataSource && dataSource.getConnectionInitSql() == null
+                        && !dataSource.isReadOnly()
+                        && dataSource.getJdbcUrl() != null && dataSource.getJdbcUrl().startsWith(SQLITE_URL_PREFIX)) {
+                    dataSource.setConnectionInitSql(AUTO_VACUUM_INCREMENTAL);
+                }
+                return bean;
+            }
+        };
+    }
+}
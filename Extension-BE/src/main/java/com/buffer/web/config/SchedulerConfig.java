@@ -0,0 +1,23 @@
+package com.buffer.web.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+@Configuration
+public class SchedulerConfig {
+
+    public static final String PERSISTENCE_SCHEDULER = "persistenceScheduler";
+
+    /**
+     * Bounded scheduler for blocking JPA work issued from the reactive request path, so that
+     * database writes never run on (and stall) Netty event-loop threads
+     */
+    @Bean(name = PERSISTENCE_SCHEDULER, destroyMethod = "dispose")
+    public Scheduler persistenceScheduler(@Value("${analysis.persistence.threads:4}") int threads,
+                                          @Value("${analysis.persistence.queue-capacity:10000}") int queueCapacity) {
+        return Schedulers.newBoundedElastic(threads, queueCapacity, "analysis-persistence");
+    }
+}
@@ -0,0 +1,110 @@
+package com.buffer.web.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.sqlite.SQLiteDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * SQLite tuning for the sqlite-perf profile. The database runs in WAL mode, where readers never
+ * wait for the writer, and writes go through a single-connection pool since SQLite allows one
+ * writer at a time anyway. Read-only transactions are routed to a separate multi-connection pool
+ * of query-only connections, so monitoring reads are not queued behind /api/context writes.
+ */
+@Configuration
+@Profile("sqlite-perf")
+public class SqliteDataSourceConfig {
+
+    public static final String WRITE_DATA_SOURCE = "sqliteWriteDataSource";
+    public static final String READ_DATA_SOURCE = "sqliteReadDataSource";
+
+    @Value("${analysis.sqlite.journal-mode:WAL}")
+    private String journalMode;
+
+    // NORMAL is durable in WAL mode except for the last transactions on power loss
+    @Value("${analysis.sqlite.synchronous:NORMAL}")
+    private String synchronous;
+
+    @Value("${analysis.sqlite.busy-timeout-ms:5000}")
+    private int busyTimeoutMs;
+
+    @Value("${analysis.sqlite.cache-size-kib:65536}")
+    private int cacheSizeKib;
+
+    @Value("${analysis.sqlite.mmap-size-bytes:268435456}")
+    private long mmapSizeBytes;
+
+    @Bean(name = WRITE_DATA_SOURCE)
+    public HikariDataSource sqliteWriteDataSource(DataSourceProperties properties) {
+        prepareDatabaseFile(properties);
+        HikariDataSource dataSource = createPool(properties, "sqlite-writer");
+        dataSource.setMaximumPoolSize(1);
+        // Take the write lock at BEGIN instead of failing to upgrade a read lock mid-transaction
+        dataSource.addDataSourceProperty("transaction_mode", "IMMEDIATE");
+        return dataSource;
+    }
+
+    @Bean(name = READ_DATA_SOURCE)
+    public HikariDataSource sqliteReadDataSource(DataSourceProperties properties,
+                                                 @Value("${analysis.sqlite.read-pool-size:4}") int readPoolSize) {
+        HikariDataSource dataSource = createPool(properties, "sqlite-reader");
+        dataSource.setMaximumPoolSize(readPoolSize);
+        dataSource.setReadOnly(true);
+        // Enforce read-only with PRAGMA query_only instead of rejecting setReadOnly on an open connection
+        dataSource.addDataSourceProperty("jdbc.explicit_readonly", "true");
+        return dataSource;
+    }
+
+    /**
+     * The connection is fetched on first use, from the read pool if the transaction was marked
+     * read-only by then and from the write pool otherwise
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier(WRITE_DATA_SOURCE) DataSource writeDataSource,
+                                 @Qualifier(READ_DATA_SOURCE) DataSource readDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(writeDataSource);
+        dataSource.setReadOnlyDataSource(readDataSource);
+        return dataSource;
+    }
+
+    /**
+     * SQLite fixes the auto-vacuum mode once the file header is written, and switching to WAL
+     * writes it. A new database is therefore set to incremental auto-vacuum on a plain connection
+     * before the journal mode is applied; on an existing database both pragmas change nothing.
+     */
+    private void prepareDatabaseFile(DataSourceProperties properties) {
+        SQLiteDataSource plain = new SQLiteDataSource();
+        plain.setUrl(properties.determineUrl());
+        try (Connection connection = plain.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute(PersistenceConfig.AUTO_VACUUM_INCREMENTAL);
+            statement.execute("PRAGMA journal_mode = " + journalMode);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to prepare SQLite database", e);
+        }
+    }
+
+    private HikariDataSource createPool(DataSourceProperties properties, String poolName) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName(poolName);
+        dataSource.addDataSourceProperty("journal_mode", journalMode);
+        dataSource.addDataSourceProperty("synchronous", synchronous);
+        dataSource.addDataSourceProperty("busy_timeout", String.valueOf(busyTimeoutMs));
+        // A negative cache_size is in KiB rather than pages
+        dataSource.addDataSourceProperty("cache_size", String.valueOf(-cacheSizeKib));
+        dataSource.addDataSourceProperty("mmap_size", String.valueOf(mmapSizeBytes));
+        return dataSource;
+    }
+}
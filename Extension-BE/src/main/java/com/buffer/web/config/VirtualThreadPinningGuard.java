@@ -0,0 +1,120 @@
+package com.buffer.web.config;
+
+import com.buffer.domain.dto.response.VirtualThreadStatsResponse;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Virtual Thread Pinning Guard
+ *
+ * When request handling runs on virtual threads (spring.threads.virtual.enabled=true), a virtual
+ * thread that blocks inside a synchronized block - as the SQLite JDBC driver does around every
+ * statement - pins its carrier thread. Enough pinned carriers starve the whole scheduler.
+ * This guard streams the JFR jdk.VirtualThreadPinned event, logs the offending frame and keeps
+ * counts for the monitoring endpoint. ContentAnalysisService additionally moves JDBC writes off
+ * virtual threads so the hot path never pins.
+ */
+@Slf4j
+@Component
+public class VirtualThreadPinningGuard {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final String APPLICATION_PACKAGE = "com.buffer.";
+
+    private final boolean virtualThreadsEnabled;
+    private final Duration threshold;
+
+    private final LongAdder pinnedEventCount = new LongAdder();
+    private final AtomicLong maxPinnedMillis = new AtomicLong();
+    private final AtomicReference<String> lastPinnedFrame = new AtomicReference<>();
+    private RecordingStream recordingStream;
+
+    public VirtualThreadPinningGuard(@Value("${spring.threads.virtual.enabled:false}") boolean virtualThreadsEnabled,
+                                     @Value("${analysis.virtual-threads.pinning-threshold-ms:20}") long thresholdMillis) {
+        this.virtualThreadsEnabled = virtualThreadsEnabled;
+        this.threshold = Duration.ofMillis(thresholdMillis);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!virtualThreadsEnabled) {
+            return;
+        }
+        try {
+            recordingStream = new RecordingStream();
+            recordingStream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+            recordingStream.onEvent(PINNED_EVENT, this::onPinned);
+            recordingStream.startAsync();
+            log.info("Virtual thread pinning guard active (threshold {} ms)", threshold.toMillis());
+        } catch (Exception e) {
+            // JFR may be unavailable in stripped-down runtimes; the application still works without the guard
+            log.warn("Could not start virtual thread pinning guard: {}", e.getMessage());
+            recordingStream = null;
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (recordingStream != null) {
+            recordingStream.close();
+        }
+    }
+
+    public boolean isVirtualThreadsEnabled() {
+        return virtualThreadsEnabled;
+    }
+
+    public VirtualThreadStatsResponse getStats() {
+        return VirtualThreadStatsResponse.builder()
+                .enabled(virtualThreadsEnabled)
+                .pinningMonitorActive(recordingStream != null)
+                .pinningThresholdMillis(threshold.toMillis())
+                .pinnedEventCount(pinnedEventCount.sum())
+                .maxPinnedMillis(maxPinnedMillis.get())
+                .lastPinnedFrame(lastPinnedFrame.get())
+                .build();
+    }
+
+    private void onPinned(RecordedEvent event) {
+        long pinnedMillis = event.getDuration().toMillis();
+        String frame = describeFrame(event.getStackTrace());
+
+        pinnedEventCount.increment();
+        maxPinnedMillis.accumulateAndGet(pinnedMillis, Math::max);
+        lastPinnedFrame.set(frame);
+
+        log.warn("Virtual thread pinned its carrier for {} ms at {}", pinnedMillis, frame);
+    }
+
+    /**
+     * Prefer the first application frame, falling back to the top frame, so the log points at our call site
+     */
+    private String describeFrame(RecordedStackTrace stackTrace) {
+        if (stackTrace == null || stackTrace.getFrames().isEmpty()) {
+            return "unknown";
+        }
+        RecordedFrame top = stackTrace.getFrames().get(0);
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            if (frame.getMethod().getType().getName().startsWith(APPLICATION_PACKAGE)) {
+                return format(frame);
+            }
+        }
+        return format(top);
+    }
+
+    private String format(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+}
@@ -13,9 +13,14 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 /**
  * Content Analysis Controller
@@ -31,10 +36,13 @@ import org.springframework.web.bind.annotation.RestController;
 public class ContentAnalysisController {
     
     private final ContentAnalysisService contentAnalysisService;
+    private final boolean virtualThreadsEnabled;
 
     @Autowired
-    public ContentAnalysisController(ContentAnalysisService contentAnalysisService) {
+    public ContentAnalysisController(ContentAnalysisService contentAnalysisService,
+                                     @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreadsEnabled) {
         this.contentAnalysisService = contentAnalysisService;
+        this.virtualThreadsEnabled = virtualThreadsEnabled;
     }
 
     @Operation(
@@ -48,11 +56,35 @@ public class ContentAnalysisController {
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @PostMapping("/api/context")
-    public ContentAnalysisResponse analyzeContent(
+    public Mono<ContentAnalysisResponse> analyzeContent(
             @Parameter(description = "Content analysis request containing webpage data", required = true)
             @RequestBody ContentAnalysisRequest request) {
 
         log.info("Received content analysis request: {}", request);
-        return contentAnalysisService.analyzeScreenContent(request);
+        if (virtualThreadsEnabled) {
+            // Request already runs on a virtual thread; blocking on OpenAI only parks it, not a platform thread
+            return Mono.just(contentAnalysisService.analyzeScreenContent(request));
+        }
+        // Completes asynchronously so the servlet thread is released while OpenAI generates ideas
+        return contentAnalysisService.analyzeScreenContentAsync(request);
+    }
+
+    @Operation(
+        summary = "Stream webpage content analysis",
+        description = "Analyzes webpage content and streams the result as Server-Sent Events: a 'summary' event, " +
+                      "one 'idea' event per generated idea as soon as it is complete, and a final 'complete' event " +
+                      "with the full response once the session is stored. Failures are sent as an 'error' event."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Event stream started"),
+        @ApiResponse(responseCode = "400", description = "Invalid request data")
+    })
+    @PostMapping(value = "/api/context/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<Object>> streamContentAnalysis(
+            @Parameter(description = "Content analysis request containing webpage data", required = true)
+            @RequestBody ContentAnalysisRequest request) {
+
+        log.info("Received streaming content analysis request: {}", request);
+        return contentAnalysisService.streamScreenContent(request);
     }
 } 
\ No newline at end of file
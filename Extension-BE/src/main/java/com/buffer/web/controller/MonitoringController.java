@@ -1,10 +1,27 @@
 package com.buffer.web.controller;
 
+import com.buffer.domain.dto.common.ChannelDto;
+import com.buffer.domain.dto.common.StorageStatsDto;
+import com.buffer.domain.dto.response.CacheStatsResponse;
+import com.buffer.domain.dto.response.ContentNormalizationStatsResponse;
 import com.buffer.domain.dto.response.DatabaseHealthResponse;
+import com.buffer.domain.dto.response.HedgingStatsResponse;
+import com.buffer.domain.dto.response.RateLimiterStatsResponse;
+import com.buffer.domain.dto.response.RetentionStatsResponse;
+import com.buffer.domain.dto.response.SessionCacheStatsResponse;
+import com.buffer.domain.dto.response.SessionContentResponse;
 import com.buffer.domain.dto.response.SessionDataResponse;
 import com.buffer.domain.dto.response.SessionsListResponse;
+import com.buffer.domain.dto.response.VirtualThreadStatsResponse;
+import com.buffer.domain.dto.response.WriteBehindStatsResponse;
 import com.buffer.domain.entity.*;
+import com.buffer.integration.openai.OpenAIRateLimiter;
+import com.buffer.integration.openai.OpenAIRequestHedger;
+import com.buffer.repository.CachingAnalysisSessionRepository;
+import com.buffer.repository.SessionRetentionJob;
+import com.buffer.repository.WriteBehindAnalysisSessionRepository;
 import com.buffer.service.ContentAnalysisService;
+import com.buffer.web.config.VirtualThreadPinningGuard;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -14,8 +31,6 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 /**
  * Monitoring Controller
  *
@@ -30,10 +45,28 @@ import java.util.List;
 public class MonitoringController {
     
     private final ContentAnalysisService contentAnalysisService;
+    private final VirtualThreadPinningGuard virtualThreadPinningGuard;
+    private final OpenAIRateLimiter openAIRateLimiter;
+    private final OpenAIRequestHedger openAIRequestHedger;
+    private final WriteBehindAnalysisSessionRepository writeBehindRepository;
+    private final CachingAnalysisSessionRepository cachingRepository;
+    private final SessionRetentionJob sessionRetentionJob;
 
     @Autowired
-    public MonitoringController(ContentAnalysisService contentAnalysisService) {
+    public MonitoringController(ContentAnalysisService contentAnalysisService,
+                                VirtualThreadPinningGuard virtualThreadPinningGuard,
+                                OpenAIRateLimiter openAIRateLimiter,
+                                OpenAIRequestHedger openAIRequestHedger,
+                                WriteBehindAnalysisSessionRepository writeBehindRepository,
+                                CachingAnalysisSessionRepository cachingRepository,
+                                SessionRetentionJob sessionRetentionJob) {
         this.contentAnalysisService = contentAnalysisService;
+        this.virtualThreadPinningGuard = virtualThreadPinningGuard;
+        this.openAIRateLimiter = openAIRateLimiter;
+        this.openAIRequestHedger = openAIRequestHedger;
+        this.writeBehindRepository = writeBehindRepository;
+        this.cachingRepository = cachingRepository;
+        this.sessionRetentionJob = sessionRetentionJob;
     }
 
     @Operation(
@@ -66,7 +99,7 @@ public class MonitoringController {
                     .createdAt(session.getCreatedAt())
                     .channelCount(session.getSocialMediaChannels().size())
                     .totalIdeas(totalIdeas)
-                    .channels(session.getSocialMediaChannels())
+                    .channels(session.getSocialMediaChannels().stream().map(ChannelDto::fromChannel).toList())
                     .build();
         } else {
             return SessionDataResponse.builder()
@@ -78,28 +111,56 @@ public class MonitoringController {
     }
 
     @Operation(
-        summary = "Get all sessions",
-        description = "Lists all content analysis sessions with their basic information"
+        summary = "Get session content",
+        description = "Retrieves the page content stored for a specific analysis session"
     )
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "Sessions retrieved successfully")
+        @ApiResponse(responseCode = "200", description = "Session content retrieved successfully"),
+        @ApiResponse(responseCode = "404", description = "Session not found")
     })
-    @GetMapping("/api/monitor/sessions")
-    public SessionsListResponse getAllSessions() {
-        log.info("Getting all sessions");
+    @GetMapping("/api/monitor/session/{sessionId}/content")
+    public SessionContentResponse getSessionContent(
+            @Parameter(description = "Unique identifier of the session", required = true)
+            @PathVariable String sessionId) {
+        log.info("Getting session content for sessionId: {}", sessionId);
         
-        List<AnalysisSession> sessions = contentAnalysisService.getAllSessions();
+        String content = contentAnalysisService.getSessionContent(sessionId);
         
-        return SessionsListResponse.builder()
-                .status("SUCCESS")
-                .sessionCount(sessions.size())
-                .sessions(sessions)
-                .build();
+        if (content != null) {
+            return SessionContentResponse.builder()
+                    .sessionId(sessionId)
+                    .status("SUCCESS")
+                    .content(content)
+                    .build();
+        } else {
+            return SessionContentResponse.builder()
+                    .sessionId(sessionId)
+                    .status("NOT_FOUND")
+                    .message("No session found for sessionId: " + sessionId)
+                    .build();
+        }
+    }
+
+    @Operation(
+        summary = "Get sessions",
+        description = "Lists content analysis sessions newest first, one page at a time, with their basic information and counts"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Sessions retrieved successfully")
+    })
+    @GetMapping("/api/monitor/sessions")
+    public SessionsListResponse getSessions(
+            @Parameter(description = "nextCursor of the previous page; omit for the first page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Maximum number of sessions to return, capped by the server")
+            @RequestParam(required = false) Integer limit) {
+        log.info("Getting sessions page (cursor: {}, limit: {})", cursor, limit);
+        return contentAnalysisService.getSessionSummaries(cursor, limit);
     }
 
     @Operation(
         summary = "Get database health",
-        description = "Returns database statistics and health information"
+        description = "Returns session, channel and idea counts, per-table row counts and database file sizes"
     )
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Database health information retrieved successfully")
@@ -108,23 +169,128 @@ public class MonitoringController {
     public DatabaseHealthResponse getDatabaseHealth() {
         log.info("Getting database health information");
         
-        List<AnalysisSession> sessions = contentAnalysisService.getAllSessions();
-        
-        int totalIdeas = sessions.stream()
-                .mapToInt(session -> session.getSocialMediaChannels().stream()
-                        .mapToInt(channel -> channel.getContentIdeas().size())
-                        .sum())
-                .sum();
-                
-        int totalChannels = sessions.stream()
-                .mapToInt(session -> session.getSocialMediaChannels().size())
-                .sum();
+        StorageStatsDto stats;
+        try {
+            stats = contentAnalysisService.getStorageStats();
+        } catch (Exception e) {
+            return DatabaseHealthResponse.builder()
+                    .status("UNHEALTHY")
+                    .message("Database is not reachable: " + e.getMessage())
+                    .build();
+        }
         
         return DatabaseHealthResponse.builder()
                 .status("HEALTHY")
-                .sessionCount(sessions.size())
-                .totalIdeas(totalIdeas)
-                .totalChannels(totalChannels)
+                .sessionCount(stats.getSessionCount())
+                .totalIdeas(stats.getIdeaCount())
+                .totalChannels(stats.getChannelCount())
+                .tableRowCounts(stats.getTableRowCounts())
+                .databaseSizeBytes(stats.getDatabaseSizeBytes())
+                .walSizeBytes(stats.getWalSizeBytes())
                 .build();
     }
+
+    @Operation(
+        summary = "Get write-behind persistence statistics",
+        description = "Returns queue depth, lag and group commit counts of the write-behind session persistence queue"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Persistence statistics retrieved successfully")
+    })
+    @GetMapping("/api/monitor/persistence")
+    public WriteBehindStatsResponse getPersistenceStats() {
+        log.info("Getting write-behind persistence statistics");
+        return writeBehindRepository.getStats();
+    }
+
+    @Operation(
+        summary = "Get session cache statistics",
+        description = "Returns size, estimated memory, hit, miss and eviction counts of the in-memory session cache"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Session cache statistics retrieved successfully")
+    })
+    @GetMapping("/api/monitor/session-cache")
+    public SessionCacheStatsResponse getSessionCacheStats() {
+        log.info("Getting session cache statistics");
+        return cachingRepository.getStats();
+    }
+
+    @Operation(
+        summary = "Get session retention statistics",
+        description = "Returns the retention settings and how many sessions the retention job deleted, archived and trimmed"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Retention statistics retrieved successfully")
+    })
+    @GetMapping("/api/monitor/retention")
+    public RetentionStatsResponse getRetentionStats() {
+        log.info("Getting session retention statistics");
+        return sessionRetentionJob.getStats();
+    }
+
+    @Operation(
+        summary = "Get analysis cache statistics",
+        description = "Returns size, hit, miss and eviction counts of the AI analysis result cache"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Cache statistics retrieved successfully")
+    })
+    @GetMapping("/api/monitor/cache")
+    public CacheStatsResponse getAnalysisCacheStats() {
+        log.info("Getting analysis cache statistics");
+        return contentAnalysisService.getAnalysisCacheStats();
+    }
+
+    @Operation(
+        summary = "Get content normalization statistics",
+        description = "Returns bytes, tokens and lines removed from page content before analysis"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Content normalization statistics retrieved successfully")
+    })
+    @GetMapping("/api/monitor/content-normalization")
+    public ContentNormalizationStatsResponse getContentNormalizationStats() {
+        log.info("Getting content normalization statistics");
+        return contentAnalysisService.getContentNormalizationStats();
+    }
+
+    @Operation(
+        summary = "Get OpenAI rate limiter statistics",
+        description = "Returns the request and token budgets, adaptive concurrency limit and queue state of the OpenAI rate limiter"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Rate limiter statistics retrieved successfully")
+    })
+    @GetMapping("/api/monitor/rate-limiter")
+    public RateLimiterStatsResponse getRateLimiterStats() {
+        log.info("Getting OpenAI rate limiter statistics");
+        return openAIRateLimiter.getStats();
+    }
+
+    @Operation(
+        summary = "Get OpenAI request hedging statistics",
+        description = "Returns the hedge delay per operation and how many calls were hedged, won by the hedge or denied by the hedge budget"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Hedging statistics retrieved successfully")
+    })
+    @GetMapping("/api/monitor/hedging")
+    public HedgingStatsResponse getHedgingStats() {
+        log.info("Getting OpenAI request hedging statistics");
+        return openAIRequestHedger.getStats();
+    }
+
+    @Operation(
+        summary = "Get virtual thread statistics",
+        description = "Returns whether requests run on virtual threads and how often carrier threads were pinned"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Virtual thread statistics retrieved successfully")
+    })
+    @GetMapping("/api/monitor/virtual-threads")
+    public VirtualThreadStatsResponse getVirtualThreadStats() {
+        log.info("Getting virtual thread statistics");
+        return virtualThreadPinningGuard.getStats();
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,138 @@
+package com.buffer.repository;
+
+import com.buffer.domain.entity.AnalysisSession;
+import com.buffer.domain.entity.ContentIdea;
+import com.buffer.domain.entity.SocialMediaChannel;
+import com.buffer.domain.enums.ChannelType;
+import com.buffer.util.IdGenerator;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Guards the number of SQL statements the session monitoring endpoints run, so a change to the
+ * entity mappings or the fetch queries cannot bring back per-channel or per-idea lazy loads.
+ * The session cache is disabled so every request reaches the database.
+ */
+@SpringBootTest(properties = {
+        "openai.api.key=test-key",
+        "spring.datasource.driver-class-name=org.sqlite.JDBC",
+        "spring.jpa.database-platform=org.hibernate.community.dialect.SQLiteDialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "analysis.storage.backend=database",
+        "analysis.session-cache.enabled=false",
+        "analysis.persistence.write-behind.enabled=false",
+        "analysis.retention.enabled=false"
+})
+@AutoConfigureMockMvc
+class SessionQueryCountTest {
+
+    private static final int IDEAS_PER_CHANNEL = 3;
+
+    // Headings, channels, ideas, pros and cons: one fetch query per level
+    private static final long SESSION_STATEMENTS = 5;
+    // Summaries with their counts as subqueries
+    private static final long SESSIONS_PAGE_STATEMENTS = 1;
+
+    @TempDir
+    static Path databaseDir;
+
+    @DynamicPropertySource
+    static void databaseProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> "jdbc:sqlite:" + databaseDir.resolve("query-count.db"));
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    @Qualifier(AnalysisSessionRepository.STORAGE_BACKEND)
+    private AnalysisSessionRepository storage;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void sessionDetailsLoadInFixedNumberOfStatements() throws Exception {
+        AnalysisSession session = newSession();
+        storage.storeSession(session);
+        statistics.clear();
+
+        mockMvc.perform(get("/api/monitor/session/{sessionId}", session.getSessionId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("SUCCESS"))
+                .andExpect(jsonPath("$.channelCount").value(ChannelType.values().length))
+                .andExpect(jsonPath("$.totalIdeas").value(ChannelType.values().length * IDEAS_PER_CHANNEL))
+                .andExpect(jsonPath("$.channels[0].contentIdeas[0].pros.length()").value(2))
+                .andExpect(jsonPath("$.channels[0].contentIdeas[0].cons.length()").value(1));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(SESSION_STATEMENTS);
+    }
+
+    @Test
+    void sessionsPageLoadsInOneStatement() throws Exception {
+        storage.storeSession(newSession());
+        storage.storeSession(newSession());
+        statistics.clear();
+
+        mockMvc.perform(get("/api/monitor/sessions"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("SUCCESS"))
+                .andExpect(jsonPath("$.sessions[0].channelCount").value(ChannelType.values().length));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(SESSIONS_PAGE_STATEMENTS);
+    }
+
+    private static AnalysisSession newSession() {
+        AnalysisSession session = AnalysisSession.builder()
+                .sessionId(IdGenerator.generateChatId())
+                .originalContent("Small businesses that respond to reviews within a day see more repeat customers.")
+                .title("Growing with reviews")
+                .url("https://example.com/reviews")
+                .headings(new ArrayList<>(List.of("Why reviews matter", "Responding fast")))
+                .summary("How quick review responses drive repeat business")
+                .createdAt(LocalDateTime.now())
+                .socialMediaChannels(new ArrayList<>())
+                .build();
+
+        for (ChannelType type : ChannelType.values()) {
+            SocialMediaChannel channel = SocialMediaChannel.create(session, type);
+            for (int i = 0; i < IDEAS_PER_CHANNEL; i++) {
+                channel.addIdea(ContentIdea.create(channel, "Share a customer review, idea " + i,
+                        "Social proof shows the business listens",
+                        List.of("Builds trust", "Easy to produce"),
+                        List.of("Needs customer permission")));
+            }
+            session.addChannel(channel);
+        }
+        return session;
+    }
+}
@@ -21,6 +21,12 @@ function getPageContentForAI() {
       .map(h => h.textContent.trim())
       .filter(text => text.length > 0);
     
+    // Get link texts so the backend can recognize navigation-heavy lines
+    const linkTexts = Array.from(new Set(Array.from(document.querySelectorAll('a'))
+      .map(a => (a.innerText || a.textContent || '').trim())
+      .filter(text => text.length > 0)))
+      .slice(0, 2000);
+    
     // Calculate content stats
     const wordCount = fullText.split(/\s+/).filter(word => word.length > 0).length;
     
@@ -30,6 +36,7 @@ function getPageContentForAI() {
       url: url,
       description: description.trim(),
       headings: headings,
+      linkTexts: linkTexts,
       wordCount: wordCount,
       extractedAt: new Date().toISOString()
     };
@@ -42,6 +49,7 @@ function getPageContentForAI() {
       url: window.location.href,
       description: '',
       headings: [],
+      linkTexts: [],
       wordCount: 0,
       error: error.message
     };
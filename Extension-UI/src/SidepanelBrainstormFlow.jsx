@@ -6,6 +6,7 @@ const DEVELOPMENT_MODE = false;
 
 const API_CONFIG = {
   endpoint: 'http://localhost:8080/api/context', 
+  streamEndpoint: 'http://localhost:8080/api/context/stream',
   method: 'POST',
   headers: {
     'Content-Type': 'application/json',
@@ -23,6 +24,35 @@ const loadMockResponse = async () => {
   }
 };
 
+// Parses a text/event-stream body and calls onEvent(name, data) for every complete event
+const readEventStream = async (response, onEvent) => {
+  const reader = response.body.getReader();
+  const decoder = new TextDecoder();
+  let buffer = '';
+
+  while (true) {
+    const { done, value } = await reader.read();
+    if (done) break;
+    buffer += decoder.decode(value, { stream: true });
+
+    let boundary;
+    while ((boundary = buffer.indexOf('\n\n')) !== -1) {
+      const rawEvent = buffer.slice(0, boundary);
+      buffer = buffer.slice(boundary + 2);
+
+      let name = 'message';
+      const dataLines = [];
+      rawEvent.split('\n').forEach((line) => {
+        if (line.startsWith('event:')) name = line.slice(6).trim();
+        else if (line.startsWith('data:')) dataLines.push(line.slice(5));
+      });
+      if (dataLines.length) {
+        onEvent(name, JSON.parse(dataLines.join('\n')));
+      }
+    }
+  }
+};
+
 function SidepanelBrainstormFlow({ pageContent, cachedApiResponse = null, forceRefresh = false }) {
   const [apiStatus, setApiStatus] = useState(cachedApiResponse && !forceRefresh ? 'success' : 'idle'); 
   const [apiResponse, setApiResponse] = useState(forceRefresh ? null : cachedApiResponse);
@@ -45,6 +75,7 @@ function SidepanelBrainstormFlow({ pageContent, cachedApiResponse = null, forceR
       description: content.description || '',
       url: content.url || '',
       headings: content.headings || [],
+      linkTexts: content.linkTexts || [],
       channels: (content.channels && content.channels.length) ? content.channels : undefined
     };
   };
@@ -81,25 +112,50 @@ function SidepanelBrainstormFlow({ pageContent, cachedApiResponse = null, forceR
         const controller = new AbortController();
         currentRequestRef.current = controller;
         
-        const timeoutId = setTimeout(() => {
+        // The timeout covers silence between events, not the whole stream
+        let timeoutId = setTimeout(() => {
           controller.abort();
         }, API_CONFIG.timeout);
         
-        const response = await fetch(API_CONFIG.endpoint, {
+        const response = await fetch(API_CONFIG.streamEndpoint, {
           method: API_CONFIG.method,
-          headers: API_CONFIG.headers,
+          headers: { ...API_CONFIG.headers, Accept: 'text/event-stream' },
           body: JSON.stringify(payload),
           signal: controller.signal
         });
         
-        clearTimeout(timeoutId);
-        
         if (!response.ok) {
+          clearTimeout(timeoutId);
           const errorText = await response.text();
           throw new Error(`HTTP ${response.status}: ${response.statusText}${errorText ? ` - ${errorText}` : ''}`);
         }
         
-        result = await response.json();
+        // Render the summary and each idea as soon as the server streams it
+        await readEventStream(response, (event, data) => {
+          clearTimeout(timeoutId);
+          timeoutId = setTimeout(() => controller.abort(), API_CONFIG.timeout);
+
+          if (event === 'summary') {
+            setApiStatus('success');
+            setApiResponse(data);
+          } else if (event === 'idea') {
+            setApiResponse(prev => {
+              const channels = { ...(prev?.channels || {}) };
+              channels[data.channel] = [...(channels[data.channel] || []), data];
+              return { ...prev, channels };
+            });
+          } else if (event === 'complete') {
+            result = data;
+          } else if (event === 'error') {
+            throw new Error(data.summary || 'Analysis failed');
+          }
+        });
+        
+        clearTimeout(timeoutId);
+        
+        if (!result) {
+          throw new Error('Analysis stream ended before completion. Please try again.');
+        }
       }
      
       currentRequestRef.current = null;